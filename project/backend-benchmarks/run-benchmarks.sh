@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Builds the backend and the benchmarks, runs JMH and stores the results as
+# results/<commit>.json so runs from different commits can be compared.
+# Extra arguments are passed to JMH, e.g. ./run-benchmarks.sh Jwt -p strength=12
+set -euo pipefail
+cd "$(dirname "$0")"
+
+(cd ../backend && mvn -B -q install -DskipTests)
+mvn -B -q package
+
+commit=$(git rev-parse --short HEAD 2>/dev/null || echo local)
+if ! git diff --quiet HEAD -- ../backend 2>/dev/null; then
+  commit="${commit}-dirty"
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/${commit}.json" "$@"
+echo "Results written to results/${commit}.json"
@@ -0,0 +1,61 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.entity.Asset;
+import com.assetmanagement.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssetResponseBenchmark {
+
+    // 10 is the API default, 100 the largest page the controllers accept
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private List<Asset> assets;
+    private Page<AssetResponse> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user();
+        assets = new ArrayList<>(pageSize);
+        List<AssetResponse> responses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Asset asset = Fixtures.asset(user, i);
+            assets.add(asset);
+            responses.add(new AssetResponse(asset));
+        }
+        page = new PageImpl<>(responses, PageRequest.of(3, pageSize, Sort.by("createdAt").descending()), 5000);
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public List<AssetResponse> mapEntities() {
+        List<AssetResponse> result = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            result.add(new AssetResponse(asset));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,75 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.entity.User;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes an asset page as JSON, Smile and CBOR, the three types the API
+ * negotiates through Accept. Payload sizes are printed once per trial, next to the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<AssetResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "smile" -> SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        mapper = Fixtures.objectMapper(factory);
+
+        User user = Fixtures.user();
+        List<AssetResponse> responses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            responses.add(new AssetResponse(Fixtures.asset(user, i)));
+        }
+        page = new PageImpl<>(responses, PageRequest.of(3, pageSize, Sort.by("createdAt").descending()), 5000);
+
+        encoded = mapper.writeValueAsBytes(page);
+        int jsonSize = Fixtures.objectMapper().writeValueAsBytes(page).length;
+        System.out.printf("%n%s page of %d assets: %d bytes (%.0f%% of JSON)%n",
+                format, pageSize, encoded.length, 100.0 * encoded.length / jsonSize);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode decodePage() throws IOException {
+        return mapper.readTree(encoded);
+    }
+}
@@ -0,0 +1,95 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.entity.Asset;
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.entity.User;
+import com.assetmanagement.security.JwtUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Realistic objects for the benchmarks, configured the way the application configures them.
+ */
+final class Fixtures {
+
+    // Same values as application.yml
+    static final String JWT_SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234567890";
+    static final long JWT_EXPIRATION = 86400000L;
+
+    private static final String[] CATEGORIES = {"Laptop", "Phone", "Bike", "Furniture", "Electronics", "Vehicle"};
+    private static final String[] STATUSES = {"Active", "Sold", "Discarded", "Under Repair"};
+
+    private Fixtures() {}
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secret", JWT_SECRET);
+        setField(jwtUtil, "expiration", JWT_EXPIRATION);
+        invoke(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static User user() {
+        User user = new User("benchmark-user", "$2a$10$abcdefghijklmnopqrstuu1234567890123456789012345678901", "bench@example.com");
+        user.setId(42L);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return user;
+    }
+
+    static Asset asset(User user, int i) {
+        AssetCategory category = new AssetCategory(CATEGORIES[i % CATEGORIES.length]);
+        category.setId((long) (i % CATEGORIES.length) + 1);
+        AssetStatus status = new AssetStatus(STATUSES[i % STATUSES.length]);
+        status.setId((long) (i % STATUSES.length) + 1);
+
+        Asset asset = new Asset(user, "Asset number " + i + " - MacBook Pro 14\"", category, status,
+                LocalDate.of(2023, 1 + i % 12, 1 + i % 28));
+        asset.setId(1000L + i);
+        asset.setWarrantyExpiryDate(LocalDate.of(2026, 1 + i % 12, 1 + i % 28));
+        asset.setAssetImageUrl("https://images.example.com/assets/" + (1000 + i) + ".jpg");
+        asset.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+        asset.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+        return asset;
+    }
+
+    // Mirrors Spring Boot's auto-configured ObjectMapper for the parts that matter here
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    // Smile and CBOR mappers in the application share the JSON mapper's settings, only the factory differs
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+
+    static void invoke(Object target, String name) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(name);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot invoke " + name, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.UserDetailsImpl;
+import com.assetmanagement.security.VerifiedPrincipalCache;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetailsImpl principal;
+    private String token;
+    private VerifiedPrincipalCache principalCache;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Fixtures.jwtUtil();
+        principal = UserDetailsImpl.build(Fixtures.user());
+        token = jwtUtil.generateToken(principal);
+
+        principalCache = new VerifiedPrincipalCache();
+        Fixtures.setField(principalCache, "maxSize", 10000);
+        Fixtures.setField(principalCache, "ttl", Duration.ofMinutes(1));
+        principalCache.init();
+        principalCache.put(token, principal, jwtUtil.extractExpiration(token));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, principal);
+    }
+
+    // What the authentication filter pays on a principal cache miss
+    @Benchmark
+    public Claims parseVerifiedClaims() {
+        return jwtUtil.parseVerifiedClaims(token);
+    }
+
+    // What the authentication filter pays on a principal cache hit
+    @Benchmark
+    public UserDetailsImpl principalCacheHit() {
+        return principalCache.get(token);
+    }
+}
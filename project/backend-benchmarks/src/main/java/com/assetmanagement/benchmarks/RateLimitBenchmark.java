@@ -0,0 +1,51 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.security.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// What the rate limit filter adds to every request, per bucket checked
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private TokenBucketLimiter generous;
+    private TokenBucketLimiter exhausted;
+
+    @Setup
+    public void setUp() {
+        generous = new TokenBucketLimiter(new TokenBucketLimiter.Limit(Integer.MAX_VALUE, Duration.ofDays(1)), 100_000);
+        exhausted = new TokenBucketLimiter(new TokenBucketLimiter.Limit(1, Duration.ofHours(1)), 100_000);
+        exhausted.tryAcquire(42L, System.nanoTime());
+    }
+
+    @Benchmark
+    public long allowed() {
+        return generous.tryAcquire(42L, System.nanoTime());
+    }
+
+    @Benchmark
+    public long refused() {
+        return exhausted.tryAcquire(42L, System.nanoTime());
+    }
+
+    // Spread over 10,000 keys, as with many distinct clients
+    @Benchmark
+    public long allowedManyKeys() {
+        return generous.tryAcquire(ThreadLocalRandom.current().nextInt(10_000), System.nanoTime());
+    }
+
+    // All threads hitting one bucket, so the CAS is contended
+    @Benchmark
+    @Threads(4)
+    public long allowedContended() {
+        return generous.tryAcquire(42L, System.nanoTime());
+    }
+}
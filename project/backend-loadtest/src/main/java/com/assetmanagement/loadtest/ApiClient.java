@@ -0,0 +1,110 @@
+package com.assetmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin blocking client for the endpoints the load test drives. One instance is shared by all
+ * client threads; the underlying HttpClient pools keep-alive connections.
+ */
+final class ApiClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    record Result(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Result register(String username, String email, String password) throws IOException, InterruptedException {
+        return send("POST", "/api/auth/register", null,
+                Map.of("username", username, "email", email, "password", password));
+    }
+
+    Result login(String username, String password) throws IOException, InterruptedException {
+        return send("POST", "/api/auth/login", null, Map.of("username", username, "password", password));
+    }
+
+    List<Long> ids(String path) throws IOException, InterruptedException {
+        Result result = send("GET", path, null, null);
+        if (!result.ok()) {
+            throw new IllegalStateException("GET " + path + " returned " + result.status());
+        }
+        List<Long> ids = new ArrayList<>();
+        result.body().forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    Result list(String token, int page) throws IOException, InterruptedException {
+        return send("GET", "/api/assets?page=" + page + "&size=10", token, null);
+    }
+
+    Result create(String token, Map<String, Object> asset) throws IOException, InterruptedException {
+        return send("POST", "/api/assets", token, asset);
+    }
+
+    Result update(String token, long id, Map<String, Object> asset) throws IOException, InterruptedException {
+        return send("PUT", "/api/assets/" + id, token, asset);
+    }
+
+    Result delete(String token, long id) throws IOException, InterruptedException {
+        return send("DELETE", "/api/assets/" + id, token, null);
+    }
+
+    static Map<String, Object> asset(String name, long categoryId, long statusId) {
+        return Map.of(
+                "assetName", name,
+                "categoryId", categoryId,
+                "statusId", statusId,
+                "purchaseDate", LocalDate.now().minusDays(name.hashCode() & 1023).toString(),
+                "warrantyExpiryDate", LocalDate.now().plusDays(name.hashCode() & 1023).toString());
+    }
+
+    private Result send(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode json = null;
+        if (response.body().length > 0) {
+            try {
+                json = objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                // Non-JSON error bodies only matter for their status code
+            }
+        }
+        return new Result(response.statusCode(), json);
+    }
+}
@@ -0,0 +1,80 @@
+package com.assetmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counters, shared by all clients.
+ */
+final class LoadStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private volatile long startedAt = System.nanoTime();
+
+    LoadStats() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long elapsedNanos, boolean ok) {
+        latencies.get(operation).recordValue(Math.min(MAX_TRACKABLE_MICROS, elapsedNanos / 1000));
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    // Discards everything recorded so far, e.g. at the end of the warm-up
+    void reset() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        startedAt = System.nanoTime();
+    }
+
+    Summary summarize() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        Histogram total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            long operationErrors = errors.get(operation).sum();
+            if (histogram.getTotalCount() > 0) {
+                rows.put(operation.name().toLowerCase(), Row.of(histogram, operationErrors, seconds));
+            }
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        return new Summary(seconds, rows, Row.of(total, totalErrors, seconds));
+    }
+
+    record Row(long count, long errors, double errorRate, double throughput,
+               double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        static Row of(Histogram histogram, long errors, double seconds) {
+            long count = histogram.getTotalCount();
+            return new Row(
+                    count,
+                    errors,
+                    count == 0 ? 0 : (double) errors / count,
+                    count / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    record Summary(double seconds, Map<String, Row> operations, Row total) {}
+}
@@ -0,0 +1,68 @@
+package com.assetmanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options, all given as --name=value.
+ */
+final class LoadTestOptions {
+
+    int users = 20;
+    int clients = 32;
+    int assetsPerUser = 20;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    Map<Operation, Integer> mix = parseMix("list=55,create=12,update=12,delete=6,login=10,register=5");
+
+    // Target an already running server instead of booting one
+    String baseUrl;
+
+    // Boot against this database instead of the embedded PostgreSQL one
+    String jdbcUrl;
+    String dbUser = "postgres";
+    String dbPassword = "";
+
+    // Release gate: the run fails (exit code 1) when either threshold is exceeded
+    double maxErrorRate = 0.01;
+    double maxP99Millis = 0;
+
+    String reportFile;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "clients" -> options.clients = Integer.parseInt(value);
+                case "assets-per-user" -> options.assetsPerUser = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "base-url" -> options.baseUrl = value;
+                case "jdbc-url" -> options.jdbcUrl = value;
+                case "db-user" -> options.dbUser = value;
+                case "db-password" -> options.dbPassword = value;
+                case "max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                case "max-p99-ms" -> options.maxP99Millis = Double.parseDouble(value);
+                case "report" -> options.reportFile = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
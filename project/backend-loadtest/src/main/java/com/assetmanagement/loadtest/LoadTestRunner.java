@@ -0,0 +1,270 @@
+package com.assetmanagement.loadtest;
+
+import com.assetmanagement.AssetManagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the backend (against an embedded PostgreSQL unless --jdbc-url or --base-url is given), seeds users
+ * and assets, then drives a weighted mix of auth and asset calls from many concurrent clients.
+ * Prints throughput, latency percentiles and error rates, and exits non-zero when a gate fails.
+ *
+ * java -jar target/loadtest.jar --users=50 --clients=64 --duration=120 --max-p99-ms=250
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private final LoadTestOptions options;
+    private final PrintStream out;
+    private final LoadStats stats = new LoadStats();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ApiClient api;
+    private List<Long> categoryIds;
+    private List<Long> statusIds;
+    private final List<VirtualUser> users = new ArrayList<>();
+
+    private LoadTestRunner(LoadTestOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // The harness reports on the original stdout; the application's own console output is muted
+        PrintStream out = System.out;
+        ConfigurableApplicationContext context = null;
+        EmbeddedPostgres database = null;
+        String baseUrl = options.baseUrl;
+        if (baseUrl == null) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            if (options.jdbcUrl == null) {
+                database = EmbeddedPostgres.start();
+                options.jdbcUrl = database.getJdbcUrl("postgres", "postgres");
+                options.dbUser = "postgres";
+                options.dbPassword = "";
+            }
+            context = startApplication(options);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            out.println("Backend started on " + baseUrl
+                    + (database != null ? " (embedded PostgreSQL)" : " (" + options.jdbcUrl + ")"));
+        }
+
+        boolean passed;
+        try {
+            passed = new LoadTestRunner(options, out).run(baseUrl);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (database != null) {
+                database.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.rate-limit.enabled=false",
+                "--logging.level.com.assetmanagement=WARN",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.url=" + options.jdbcUrl,
+                "--spring.datasource.username=" + options.dbUser,
+                "--spring.datasource.password=" + options.dbPassword));
+        return new SpringApplicationBuilder(AssetManagementApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private boolean run(String baseUrl) throws Exception {
+        api = new ApiClient(baseUrl);
+        categoryIds = api.ids("/api/categories");
+        statusIds = api.ids("/api/statuses");
+
+        seed();
+
+        ExecutorService clients = Executors.newFixedThreadPool(options.clients);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        for (int i = 0; i < options.clients; i++) {
+            clients.submit(() -> clientLoop(end));
+        }
+
+        out.println("Warming up for " + options.warmupSeconds + "s with " + options.clients + " clients...");
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        stats.reset();
+        out.println("Measuring for " + options.durationSeconds + "s...");
+
+        clients.shutdown();
+        clients.awaitTermination(options.durationSeconds + 60L, TimeUnit.SECONDS);
+
+        LoadStats.Summary summary = stats.summarize();
+        print(summary);
+        if (options.reportFile != null) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(new File(options.reportFile), Map.of("options", describeOptions(), "summary", summary));
+            out.println("Report written to " + options.reportFile);
+        }
+        return checkGates(summary);
+    }
+
+    private void seed() throws Exception {
+        out.println("Seeding " + options.users + " users with " + options.assetsPerUser + " assets each...");
+        for (int i = 0; i < options.users; i++) {
+            String username = "lt-" + runId + "-" + i;
+            ApiClient.Result registered = api.register(username, username + "@loadtest.local", PASSWORD);
+            if (!registered.ok()) {
+                throw new IllegalStateException("Seeding user " + username + " failed with " + registered.status());
+            }
+            VirtualUser user = new VirtualUser(username, registered.body().get("token").asText());
+            for (int a = 0; a < options.assetsPerUser; a++) {
+                ApiClient.Result created = api.create(user.token, randomAsset());
+                if (!created.ok()) {
+                    throw new IllegalStateException("Seeding asset for " + username + " failed with " + created.status());
+                }
+                user.assetIds.add(created.body().get("id").asLong());
+            }
+            users.add(user);
+        }
+    }
+
+    private void clientLoop(long end) {
+        int totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            Operation operation = pick(totalWeight);
+            VirtualUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = execute(operation, user);
+            } catch (Exception e) {
+                ok = false;
+            }
+            stats.record(operation, System.nanoTime() - start, ok);
+        }
+    }
+
+    private Operation pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LIST;
+    }
+
+    private boolean execute(Operation operation, VirtualUser user) throws Exception {
+        switch (operation) {
+            case REGISTER -> {
+                String username = "lt-" + runId + "-r" + sequence.incrementAndGet();
+                return api.register(username, username + "@loadtest.local", PASSWORD).ok();
+            }
+            case LOGIN -> {
+                return api.login(user.username, PASSWORD).ok();
+            }
+            case LIST -> {
+                int pages = Math.max(1, (user.assetIds.size() + 9) / 10);
+                return api.list(user.token, ThreadLocalRandom.current().nextInt(pages)).ok();
+            }
+            case CREATE -> {
+                ApiClient.Result created = api.create(user.token, randomAsset());
+                if (created.ok()) {
+                    user.assetIds.add(created.body().get("id").asLong());
+                }
+                return created.ok();
+            }
+            case UPDATE -> {
+                Long id = user.assetIds.peekLast();
+                return id == null || api.update(user.token, id, randomAsset()).ok();
+            }
+            case DELETE -> {
+                Long id = user.assetIds.pollFirst();
+                return id == null || api.delete(user.token, id).ok();
+            }
+            default -> throw new IllegalStateException("Unhandled operation " + operation);
+        }
+    }
+
+    private Map<String, Object> randomAsset() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return ApiClient.asset(
+                "Load test asset " + sequence.incrementAndGet(),
+                categoryIds.get(random.nextInt(categoryIds.size())),
+                statusIds.get(random.nextInt(statusIds.size())));
+    }
+
+    private void print(LoadStats.Summary summary) {
+        out.println();
+        out.printf("%-10s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary.operations().forEach((name, row) -> printRow(name, row));
+        printRow("TOTAL", summary.total());
+        out.println();
+    }
+
+    private void printRow(String name, LoadStats.Row row) {
+        out.printf("%-10s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, row.count(), row.errors(), row.throughput(),
+                row.p50Millis(), row.p90Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis());
+    }
+
+    private boolean checkGates(LoadStats.Summary summary) {
+        boolean passed = true;
+        if (summary.total().count() == 0) {
+            out.println("FAIL: no requests completed");
+            return false;
+        }
+        if (summary.total().errorRate() > options.maxErrorRate) {
+            out.printf("FAIL: error rate %.4f exceeds %.4f%n", summary.total().errorRate(), options.maxErrorRate);
+            passed = false;
+        }
+        if (options.maxP99Millis > 0 && summary.total().p99Millis() > options.maxP99Millis) {
+            out.printf("FAIL: p99 %.2f ms exceeds %.2f ms%n", summary.total().p99Millis(), options.maxP99Millis);
+            passed = false;
+        }
+        out.println(passed ? "PASS" : "Load test gate failed");
+        return passed;
+    }
+
+    private Map<String, Object> describeOptions() {
+        return Map.of(
+                "users", options.users,
+                "clients", options.clients,
+                "assetsPerUser", options.assetsPerUser,
+                "warmupSeconds", options.warmupSeconds,
+                "durationSeconds", options.durationSeconds,
+                "mix", options.mix);
+    }
+
+    private static final class VirtualUser {
+        private final String username;
+        private final String token;
+        private final ConcurrentLinkedDeque<Long> assetIds = new ConcurrentLinkedDeque<>();
+
+        private VirtualUser(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.assetmanagement.loadtest;
+
+enum Operation {
+    REGISTER,
+    LOGIN,
+    LIST,
+    CREATE,
+    UPDATE,
+    DELETE
+}
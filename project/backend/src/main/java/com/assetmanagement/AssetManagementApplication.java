@@ -2,8 +2,10 @@ package com.assetmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AssetManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(AssetManagementApplication.class, args);
@@ -0,0 +1,83 @@
+package com.assetmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Lets clients ask for Smile or CBOR instead of JSON through the Accept header. Both mappers
+ * come from Boot's Jackson builder, so modules, dates and inclusion rules match the JSON output
+ * exactly; only the encoding differs. The converters are appended after the defaults, so
+ * wildcard Accept headers, browsers included, keep getting JSON.
+ */
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Master data bodies are pre-encoded in each of these, in order of preference
+    public static final List<MediaType> SUPPORTED = List.of(
+            MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    public BinaryEncodingConfig(Jackson2ObjectMapperBuilder smileBuilder, Jackson2ObjectMapperBuilder cborBuilder) {
+        // The builder bean is prototype-scoped, so each parameter is a separate instance
+        // Category and status names repeat on every row, so let Smile back-reference them
+        this.smileMapper = smileBuilder.factory(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()).build();
+        this.cborMapper = cborBuilder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+
+    public ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * Picks the best supported type for an Accept header, honouring q-values. Falls back to
+     * JSON when the header is absent, unparseable or names nothing we produce.
+     */
+    public static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType candidate : acceptable) {
+            for (MediaType supported : SUPPORTED) {
+                if (candidate.getQualityValue() > 0 && candidate.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -4,6 +4,8 @@ import com.assetmanagement.entity.AssetCategory;
 import com.assetmanagement.entity.AssetStatus;
 import com.assetmanagement.repository.AssetCategoryRepository;
 import com.assetmanagement.repository.AssetStatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -11,6 +13,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private AssetCategoryRepository categoryRepository;
 
@@ -22,30 +26,29 @@ public class DataInitializer implements CommandLineRunner {
         try {
             // Initialize categories if they don't exist
             if (categoryRepository.count() == 0) {
-                System.out.println("Initializing categories...");
+                log.info("Initializing categories...");
                 categoryRepository.save(new AssetCategory("Laptop"));
                 categoryRepository.save(new AssetCategory("Phone"));
                 categoryRepository.save(new AssetCategory("Bike"));
                 categoryRepository.save(new AssetCategory("Furniture"));
                 categoryRepository.save(new AssetCategory("Electronics"));
                 categoryRepository.save(new AssetCategory("Vehicle"));
-                System.out.println("Categories initialized successfully!");
+                log.info("Categories initialized successfully!");
             }
 
             // Initialize statuses if they don't exist
             if (statusRepository.count() == 0) {
-                System.out.println("Initializing statuses...");
+                log.info("Initializing statuses...");
                 statusRepository.save(new AssetStatus("Active"));
                 statusRepository.save(new AssetStatus("Sold"));
                 statusRepository.save(new AssetStatus("Discarded"));
                 statusRepository.save(new AssetStatus("Under Repair"));
-                System.out.println("Statuses initialized successfully!");
+                log.info("Statuses initialized successfully!");
             }
 
-            System.out.println("Data initialization completed!");
+            log.info("Data initialization completed!");
         } catch (Exception e) {
-            System.err.println("Error during data initialization: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error during data initialization", e);
         }
     }
 }
\ No newline at end of file
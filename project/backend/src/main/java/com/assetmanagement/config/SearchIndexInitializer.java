@@ -0,0 +1,35 @@
+package com.assetmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the trigram indexes behind /api/assets/search. Hibernate's ddl-auto cannot
+ * express operator-class indexes, so they are created here, idempotently, at startup.
+ */
+@Component
+public class SearchIndexInitializer implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_assets_name_trgm " +
+                    "ON assets USING gin (asset_name gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_asset_categories_name_trgm " +
+                    "ON asset_categories USING gin (category_name gin_trgm_ops)");
+            log.info("Search indexes initialized successfully!");
+        } catch (Exception e) {
+            log.warn("Error creating search indexes (is pg_trgm available?): {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.assetmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports at startup whether the virtual-thread mode is actually in effect. Spring Boot
+ * silently ignores spring.threads.virtual.enabled on a JRE older than 21.
+ */
+@Component
+public class VirtualThreadsGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsGuard.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeout;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests still run on the platform thread pool", javaVersion);
+            return;
+        }
+        log.info("Virtual threads enabled: database concurrency is limited by the Hikari pool "
+                + "({} connections, {} ms acquire timeout)", maximumPoolSize, connectionTimeout);
+    }
+}
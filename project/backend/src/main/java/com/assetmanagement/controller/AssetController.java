@@ -1,78 +1,387 @@
 package com.assetmanagement.controller;
 
+import com.assetmanagement.config.BinaryEncodingConfig;
 import com.assetmanagement.dto.AssetRequest;
 import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.dto.AssetSummaryResponse;
+import com.assetmanagement.dto.BulkChangeResponse;
+import com.assetmanagement.dto.BulkDeleteRequest;
+import com.assetmanagement.dto.BulkImportResponse;
+import com.assetmanagement.dto.BulkStatusRequest;
+import com.assetmanagement.dto.CursorPage;
+import com.assetmanagement.dto.ImageUploadResponse;
+import com.assetmanagement.exception.AssetNotFoundException;
+import com.assetmanagement.exception.AssetVersionConflictException;
+import com.assetmanagement.exception.ImageRejectedException;
+import com.assetmanagement.logging.LogMarkers;
+import com.assetmanagement.security.UserDetailsImpl;
+import com.assetmanagement.service.AssetChangeBroadcaster;
+import com.assetmanagement.service.AssetCollectionVersions;
+import com.assetmanagement.service.AssetCounterService;
+import com.assetmanagement.service.AssetExportService;
+import com.assetmanagement.service.AssetImageService;
+import com.assetmanagement.service.AssetImportService;
 import com.assetmanagement.service.AssetService;
+import com.assetmanagement.service.MasterDataService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/assets")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class AssetController {
 
+    private static final Logger log = LoggerFactory.getLogger(AssetController.class);
+
     @Autowired
     private AssetService assetService;
 
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private AssetExportService assetExportService;
+
+    @Autowired
+    private AssetCounterService assetCounterService;
+
+    @Autowired
+    private AssetCollectionVersions collectionVersions;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private AssetImageService assetImageService;
+
+    @Autowired
+    private AssetChangeBroadcaster changeBroadcaster;
+
+    @Value("${app.asset-stream.buffer-size:64}")
+    private int streamBufferSize;
+
+    @Value("${app.asset-stream.max-duration:PT30M}")
+    private Duration streamMaxDuration;
+
+    // Listings are revalidated against the per-user collection version; a 304 never opens a transaction
     @GetMapping
     public ResponseEntity<Page<AssetResponse>> getUserAssets(
+            @AuthenticationPrincipal UserDetailsImpl principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
 
         try {
-            System.out.println("=== Fetching user assets ===");
+            String etag = collectionVersions.etag(principal.getId(),
+                    "page", page, size, sortBy, sortDir, BinaryEncodingConfig.negotiate(accept));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             
             Pageable pageable = PageRequest.of(page, size, sort);
             Page<AssetResponse> assets = assetService.getUserAssets(pageable);
-            System.out.println("Found " + assets.getTotalElements() + " assets for user");
-            return ResponseEntity.ok(assets);
+            log.debug(LogMarkers.SAMPLED, "Listed page {} of {} assets", page, assets.getTotalElements());
+            return revalidated(etag, assets);
         } catch (Exception e) {
-            System.err.println("Error fetching assets: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching assets", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // Keyset mode: an empty cursor starts at the newest asset, nextCursor continues from there
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<AssetResponse>> getUserAssetsByCursor(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withCount,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            String etag = collectionVersions.etag(principal.getId(),
+                    "cursor", cursor, size, withCount, BinaryEncodingConfig.negotiate(accept));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return revalidated(etag, assetService.getUserAssetsByCursor(cursor, size, withCount));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected asset cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching assets", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<AssetResponse>> searchAssets(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        if (query.isBlank() || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            String etag = collectionVersions.etag(principal.getId(),
+                    "search", query, page, size, BinaryEncodingConfig.negotiate(accept));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            // Ordering is by relevance, so the pageable carries no sort of its own
+            return revalidated(etag, assetService.searchUserAssets(query, PageRequest.of(page, size)));
+        } catch (Exception e) {
+            log.error("Error searching assets", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Totals by category and status, read from the per-user counters rather than the asset rows
+    @GetMapping("/summary")
+    public ResponseEntity<AssetSummaryResponse> getSummary(@AuthenticationPrincipal UserDetailsImpl principal) {
+        try {
+            return ResponseEntity.ok(assetCounterService.getSummary(principal.getId()));
+        } catch (Exception e) {
+            log.error("Error building asset summary", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Server-Sent Events for this user's asset changes; the request thread returns at once
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public void streamChanges(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AssetStreamConnection connection =
+                new AssetStreamConnection(principal.getId(), changeBroadcaster, streamBufferSize);
+        if (!changeBroadcaster.subscribe(principal.getId(), connection)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many open streams");
+            return;
+        }
+        try {
+            connection.start(request, response, streamMaxDuration);
+        } catch (IOException | IllegalStateException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    // Rows are written to the servlet output stream chunk by chunk; no connection is held between chunks
+    @GetMapping("/export")
+    public void exportAssets(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        AssetExportService.Format exportFormat;
+        if (format.equalsIgnoreCase("csv")) {
+            exportFormat = AssetExportService.Format.CSV;
+            response.setContentType("text/csv;charset=UTF-8");
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            exportFormat = AssetExportService.Format.NDJSON;
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+        } else {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"assets." + exportFormat.name().toLowerCase() + "\"");
+
+        try {
+            long exported = assetExportService.exportAssets(principal.getId(), exportFormat, response.getOutputStream());
+            log.info("Exported {} assets as {} for user {}", exported, exportFormat, principal.getId());
+        } catch (IOException e) {
+            // Usually the client went away mid-download; the status line has already been sent
+            log.warn("Asset export aborted: {}", e.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<AssetResponse> createAsset(@Valid @RequestBody AssetRequest request) {
         try {
-            System.out.println("=== Creating new asset ===");
-            System.out.println("Asset name: " + request.getAssetName());
-            System.out.println("Category ID: " + request.getCategoryId());
-            System.out.println("Status ID: " + request.getStatusId());
-            
             AssetResponse response = assetService.createAsset(request);
-            System.out.println("Asset created successfully with ID: " + response.getId());
+            log.debug(LogMarkers.SAMPLED, "Created asset {} (category {}, status {})",
+                    response.getId(), request.getCategoryId(), request.getStatusId());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
-            System.err.println("Error creating asset: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error creating asset: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The body is consumed line by line as it arrives; it is never buffered as a whole
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkImportResponse> bulkImport(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @RequestHeader("Content-Type") String contentType,
+            Reader body) {
+        try {
+            AssetImportService.Format format = contentType.startsWith("text/csv")
+                    ? AssetImportService.Format.CSV
+                    : AssetImportService.Format.NDJSON;
+            BulkImportResponse response = assetImportService.importAssets(principal.getId(), body, format);
+            log.info("Bulk import for user {} ({}): {} imported, {} failed",
+                    principal.getId(), format, response.getImported(), response.getFailed());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.warn("Error importing assets", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Raw image bytes as the body (no multipart), streamed to the image store as they arrive
+    @PostMapping(value = "/{id}/image", consumes = "image/*")
+    public ResponseEntity<?> uploadImage(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @PathVariable Long id,
+            HttpServletRequest request) {
+        try {
+            ImageUploadResponse response = assetImageService.upload(
+                    principal.getId(), id, request.getInputStream(), request.getContentLengthLong());
+            log.debug(LogMarkers.SAMPLED, "Stored image {} ({} bytes) for asset {}",
+                    response.getHash(), response.getSize(), id);
+            return ResponseEntity.ok(response);
+        } catch (AssetNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ImageRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(Map.of("error", e.getStatus().getReasonPhrase(), "message", e.getMessage()));
+        } catch (IOException e) {
+            log.warn("Image upload for asset {} failed: {}", id, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // ?v=<hash> URLs (as returned by the upload) never change content, so they are cached for a year
+    @GetMapping("/{id}/image")
+    public void getImage(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String v,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        try {
+            AssetImageService.ImageFile image = assetImageService.find(principal.getId(), id, thumbnail);
+            // A thumbnail fallback is revalidated, so the real thumbnail replaces it once generated
+            boolean immutable = image.hash().equals(v) && image.thumbnail() == thumbnail;
+            FileResponses.write(request, response, image.path(), image.contentType(), image.etag(),
+                    immutable ? "private, max-age=31536000, immutable" : "private, no-cache");
+        } catch (AssetNotFoundException | NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        } catch (IOException e) {
+            // Usually the client went away mid-download
+            log.debug("Image download for asset {} aborted: {}", id, e.getMessage());
+        }
+    }
+
+    // The ETag carries the asset's version, to be sent back as If-Match on PATCH
+    @GetMapping("/{id}")
+    public ResponseEntity<AssetResponse> getAsset(
+            @PathVariable Long id,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            // Taken before the row is read, so a concurrent rename can only make the tag older
+            String masterDataTag = masterDataService.getSnapshot().getContentTag();
+            AssetResponse response = assetService.getAsset(id);
+            String etag = ETags.forAsset(response.getVersion(), masterDataTag, BinaryEncodingConfig.negotiate(accept));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return revalidated(etag, response);
+        } catch (AssetNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // JSON Merge Patch; If-Match is required, so a stale version gets 412 instead of overwriting a newer edit
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<?> patchAsset(
+            @PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestBody JsonNode patch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(Map.of(
+                    "error", "Precondition Required",
+                    "message", "Send If-Match with the asset's ETag, or If-Match: * to overwrite any version"));
+        }
+        String masterDataTag = masterDataService.getSnapshot().getContentTag();
+        MediaType contentType = BinaryEncodingConfig.negotiate(accept);
+        try {
+            AssetResponse response = assetService.patchAsset(id, patch, ETags.versionFromIfMatch(ifMatch));
+            log.debug(LogMarkers.SAMPLED, "Patched asset {} to version {}", id, response.getVersion());
+            return ResponseEntity.ok()
+                    .eTag(ETags.forAsset(response.getVersion(), masterDataTag, contentType))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .body(response);
+        } catch (AssetNotFoundException e) {
+            log.debug("Asset {} not found for patch", id);
+            return ResponseEntity.notFound().build();
+        } catch (AssetVersionConflictException e) {
+            log.debug("Rejected stale patch of asset {}: {}", id, e.getMessage());
+            ResponseEntity.BodyBuilder conflict = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+            if (e.getCurrentVersion() != null) {
+                conflict.eTag(ETags.forAsset(e.getCurrentVersion(), masterDataTag, contentType));
+            }
+            return conflict.body(Map.of("error", "Precondition Failed", "message", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Error patching asset {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Bad Request", "message", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AssetResponse> updateAsset(
             @PathVariable Long id, 
             @Valid @RequestBody AssetRequest request) {
         try {
-            System.out.println("=== Updating asset with ID: " + id + " ===");
             AssetResponse response = assetService.updateAsset(id, request);
-            System.out.println("Asset updated successfully");
+            log.debug(LogMarkers.SAMPLED, "Updated asset {}", id);
             return ResponseEntity.ok(response);
+        } catch (AssetNotFoundException e) {
+            log.debug("Asset {} not found for update", id);
+            return ResponseEntity.notFound().build();
         } catch (RuntimeException e) {
-            System.err.println("Error updating asset: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error updating asset {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -80,14 +389,58 @@ public class AssetController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAsset(@PathVariable Long id) {
         try {
-            System.out.println("=== Deleting asset with ID: " + id + " ===");
             assetService.deleteAsset(id);
-            System.out.println("Asset deleted successfully");
+            log.debug(LogMarkers.SAMPLED, "Deleted asset {}", id);
             return ResponseEntity.ok().build();
+        } catch (AssetNotFoundException e) {
+            log.debug("Asset {} not found for delete", id);
+            return ResponseEntity.notFound().build();
         } catch (RuntimeException e) {
-            System.err.println("Error deleting asset: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error deleting asset {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // One transaction for the whole list; ids the user does not own are reported, not rejected
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        try {
+            BulkChangeResponse response = assetService.updateStatuses(request.getIds(), request.getStatusId());
+            log.debug(LogMarkers.SAMPLED, "Set status {} on {} assets", request.getStatusId(),
+                    response.getAffectedIds().size());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.warn("Error updating asset statuses: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Bad Request", "message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> deleteAssets(@Valid @RequestBody BulkDeleteRequest request) {
+        try {
+            BulkChangeResponse response = assetService.deleteAssets(request.getIds());
+            log.debug(LogMarkers.SAMPLED, "Deleted {} assets", response.getAffectedIds().size());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.warn("Error deleting assets: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Bad Request", "message", e.getMessage()));
+        }
+    }
+
+    // Private: the body is one user's data, so only the browser may keep it, and must revalidate
+    private static <T> ResponseEntity<T> revalidated(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
+    }
+}
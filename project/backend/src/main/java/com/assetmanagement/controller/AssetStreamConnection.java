@@ -0,0 +1,161 @@
+package com.assetmanagement.controller;
+
+import com.assetmanagement.service.AssetChangeBroadcaster;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One open /api/assets/stream response, written with Servlet non-blocking I/O. No thread is
+ * held while the connection is idle, and a write only happens while the socket can take it
+ * without blocking, on whichever thread queued the frame or on the container thread that
+ * reports the socket writable again. Frames wait in a bounded buffer in between.
+ */
+final class AssetStreamConnection implements AssetChangeBroadcaster.Subscriber, WriteListener, AsyncListener {
+
+    // Tells EventSource-style clients how long to wait before reconnecting
+    private static final byte[] PREAMBLE = "retry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Long userId;
+    private final AssetChangeBroadcaster broadcaster;
+    private final ArrayBlockingQueue<byte[]> buffer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile AsyncContext asyncContext;
+    private volatile ServletOutputStream out;
+    private boolean unflushed; // guarded by writeLock
+
+    AssetStreamConnection(Long userId, AssetChangeBroadcaster broadcaster, int bufferSize) {
+        this.userId = userId;
+        this.broadcaster = broadcaster;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize + 1);
+        buffer.offer(PREAMBLE);
+    }
+
+    /**
+     * Switches the response to async, non-blocking mode. Frames offered before this are kept
+     * and written once the container reports the socket writable.
+     */
+    void start(HttpServletRequest request, HttpServletResponse response, Duration maxDuration) throws IOException {
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("X-Accel-Buffering", "no");
+        AsyncContext context = request.startAsync();
+        context.setTimeout(maxDuration.toMillis());
+        context.addListener(this);
+        asyncContext = context;
+        ServletOutputStream stream = response.getOutputStream();
+        out = stream;
+        stream.setWriteListener(this);
+    }
+
+    @Override
+    public boolean offer(byte[] frame) {
+        if (closed.get()) {
+            return true;
+        }
+        if (!buffer.offer(frame)) {
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            broadcaster.unsubscribe(userId, this);
+            buffer.clear();
+            AsyncContext context = asyncContext;
+            if (context != null) {
+                try {
+                    context.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+    }
+
+    // Only one thread writes at a time; a caller that finds the lock taken leaves its request
+    // behind, and the writer goes round again before letting go
+    private void drain() {
+        drainRequested.set(true);
+        while (drainRequested.get() && writeLock.tryLock()) {
+            try {
+                drainRequested.set(false);
+                writeWhileReady();
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void writeWhileReady() throws IOException {
+        ServletOutputStream stream = out;
+        if (stream == null || closed.get()) {
+            return;
+        }
+        // isReady() returning false arranges an onWritePossible() callback
+        while (stream.isReady()) {
+            byte[] frame = buffer.poll();
+            if (frame == null) {
+                if (!unflushed) {
+                    return;
+                }
+                unflushed = false;
+                stream.flush();
+                continue;
+            }
+            stream.write(frame);
+            unflushed = true;
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        closed.set(true);
+        broadcaster.unsubscribe(userId, this);
+    }
+
+    // Past app.asset-stream.max-duration; the client reconnects, re-presenting a current token
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
@@ -1,14 +1,22 @@
 package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.AuthResponse;
+import com.assetmanagement.dto.AvailabilityResponse;
 import com.assetmanagement.dto.LoginRequest;
 import com.assetmanagement.dto.RegisterRequest;
+import com.assetmanagement.exception.DuplicateAccountException;
+import com.assetmanagement.exception.PasswordHashingBusyException;
+import com.assetmanagement.service.AccountAvailabilityService;
 import com.assetmanagement.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -17,11 +25,21 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AccountAvailabilityService accountAvailabilityService;
+
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.ok(response);
+        } catch (DuplicateAccountException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "error", "Conflict",
+                    "field", e.getField(),
+                    "message", e.getMessage()));
+        } catch (PasswordHashingBusyException e) {
+            return busy();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -32,8 +50,33 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return busy();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // Advisory, for sign-up forms; most answers come from memory without a query
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                hasUsername ? accountAvailabilityService.isUsernameAvailable(username) : null,
+                hasEmail ? accountAvailabilityService.isEmailAvailable(email) : null));
+    }
+
+    // The hashing pool is saturated; the client should back off briefly rather than see a 400
+    private static <T> ResponseEntity<T> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
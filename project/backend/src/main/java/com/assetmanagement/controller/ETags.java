@@ -0,0 +1,66 @@
+package com.assetmanagement.controller;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Helpers for comparing request validators against the ETags we issue.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    /**
+     * Weak comparison as required for If-None-Match: "*" matches anything, and a
+     * W/ prefix on either side is ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String expected = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strong ETag for one representation of a single asset: the row version, the master data the
+     * category and status names came from, and the encoding. Each of these changes the bytes, so
+     * two responses with the same tag are byte-identical, as strong comparison requires.
+     */
+    static String forAsset(long version, String masterDataTag, MediaType contentType) {
+        return "\"" + version + "-" + masterDataTag + "-" + contentType.getSubtype() + "\"";
+    }
+
+    /**
+     * The asset version an If-Match header asks for, or null for "*", which any current version
+     * satisfies. A missing header is the caller's to reject. Only the version part of a tag from
+     * {@link #forAsset} is compared: a renamed category or another encoding does not make the
+     * client's edit stale. If-Match compares strongly, so a weak tag, a list or anything else we
+     * did not issue yields -1, which never matches.
+     */
+    static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return -1L;
+        }
+        String opaque = value.substring(1, value.length() - 1);
+        int separator = opaque.indexOf('-');
+        try {
+            return Long.valueOf(separator < 0 ? opaque : opaque.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
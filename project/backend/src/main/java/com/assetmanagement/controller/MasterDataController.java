@@ -1,53 +1,72 @@
 package com.assetmanagement.controller;
 
-import com.assetmanagement.entity.AssetCategory;
-import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.config.BinaryEncodingConfig;
 import com.assetmanagement.service.MasterDataService;
+import com.assetmanagement.service.MasterDataSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class MasterDataController {
 
+    private static final Logger log = LoggerFactory.getLogger(MasterDataController.class);
+
     @Autowired
     private MasterDataService masterDataService;
 
     @GetMapping("/categories")
-    public ResponseEntity<List<AssetCategory>> getAllCategories() {
+    public ResponseEntity<byte[]> getAllCategories(
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            System.out.println("=== Fetching categories ===");
-            List<AssetCategory> categories = masterDataService.getAllCategories();
-            System.out.println("Found " + categories.size() + " categories");
-            for (AssetCategory category : categories) {
-                System.out.println("Category: " + category.getId() + " - " + category.getCategoryName());
-            }
-            return ResponseEntity.ok(categories);
+            MediaType contentType = BinaryEncodingConfig.negotiate(accept);
+            MasterDataSnapshot snapshot = masterDataService.getSnapshot();
+            return conditional(snapshot.getCategories(contentType), contentType, ifNoneMatch);
         } catch (Exception e) {
-            System.err.println("Error fetching categories: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching categories", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
     @GetMapping("/statuses")
-    public ResponseEntity<List<AssetStatus>> getAllStatuses() {
+    public ResponseEntity<byte[]> getAllStatuses(
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            System.out.println("=== Fetching statuses ===");
-            List<AssetStatus> statuses = masterDataService.getAllStatuses();
-            System.out.println("Found " + statuses.size() + " statuses");
-            for (AssetStatus status : statuses) {
-                System.out.println("Status: " + status.getId() + " - " + status.getStatusName());
-            }
-            return ResponseEntity.ok(statuses);
+            MediaType contentType = BinaryEncodingConfig.negotiate(accept);
+            MasterDataSnapshot snapshot = masterDataService.getSnapshot();
+            return conditional(snapshot.getStatuses(contentType), contentType, ifNoneMatch);
         } catch (Exception e) {
-            System.err.println("Error fetching statuses: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching statuses", e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Bodies are pre-serialized by the snapshot; a matching If-None-Match costs a string compare.
+    // Each encoding has its own ETag, and Vary keeps caches from mixing them up.
+    private static ResponseEntity<byte[]> conditional(MasterDataSnapshot.Body body, MediaType contentType,
+                                                      String ifNoneMatch) {
+        if (ETags.matches(ifNoneMatch, body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(body.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .contentType(contentType)
+                .body(body.bytes());
+    }
+}
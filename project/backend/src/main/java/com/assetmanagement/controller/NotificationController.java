@@ -0,0 +1,41 @@
+package com.assetmanagement.controller;
+
+import com.assetmanagement.entity.WarrantyNotification;
+import com.assetmanagement.security.UserDetailsImpl;
+import com.assetmanagement.service.WarrantyNotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class NotificationController {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
+
+    @Autowired
+    private WarrantyNotificationService notificationService;
+
+    // Newest first
+    @GetMapping
+    public ResponseEntity<Page<WarrantyNotification>> getNotifications(
+            @AuthenticationPrincipal UserDetailsImpl principal,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(notificationService.getNotifications(principal.getId(), page, size));
+        } catch (Exception e) {
+            log.error("Error fetching notifications", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
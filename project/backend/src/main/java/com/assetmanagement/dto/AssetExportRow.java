@@ -0,0 +1,22 @@
+package com.assetmanagement.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of an asset used for exports. Selected directly by JPQL, so
+ * rows never enter the persistence context and can be streamed without growing the heap.
+ */
+public record AssetExportRow(
+        Long id,
+        String assetName,
+        Long categoryId,
+        String categoryName,
+        Long statusId,
+        String statusName,
+        LocalDate purchaseDate,
+        LocalDate warrantyExpiryDate,
+        String assetImageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -14,8 +14,11 @@ public class AssetResponse {
     private LocalDate purchaseDate;
     private LocalDate warrantyExpiryDate;
     private String assetImageUrl;
+    // Hash of the uploaded photo, served by GET /api/assets/{id}/image?v=<hash>; null when there is none
+    private String imageHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
     private CategoryResponse category;
     private StatusResponse status;
 
@@ -31,12 +34,36 @@ public class AssetResponse {
         this.purchaseDate = asset.getPurchaseDate();
         this.warrantyExpiryDate = asset.getWarrantyExpiryDate();
         this.assetImageUrl = asset.getAssetImageUrl();
+        this.imageHash = asset.getImageHash();
         this.createdAt = asset.getCreatedAt();
         this.updatedAt = asset.getUpdatedAt();
+        this.version = asset.getVersion();
         this.category = new CategoryResponse(asset.getCategory());
         this.status = new StatusResponse(asset.getStatus());
     }
 
+    // Flat form used by JPQL constructor expressions, so listings never touch the associations
+    public AssetResponse(Long id, Long userId, String assetName,
+                         Long categoryId, String categoryName,
+                         Long statusId, String statusName,
+                         LocalDate purchaseDate, LocalDate warrantyExpiryDate, String assetImageUrl, String imageHash,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        this.id = id;
+        this.userId = userId;
+        this.assetName = assetName;
+        this.categoryId = categoryId;
+        this.statusId = statusId;
+        this.purchaseDate = purchaseDate;
+        this.warrantyExpiryDate = warrantyExpiryDate;
+        this.assetImageUrl = assetImageUrl;
+        this.imageHash = imageHash;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.category = new CategoryResponse(categoryId, categoryName);
+        this.status = new StatusResponse(statusId, statusName);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -102,6 +129,14 @@ public class AssetResponse {
         this.assetImageUrl = assetImageUrl;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -118,6 +153,14 @@ public class AssetResponse {
         this.updatedAt = updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public CategoryResponse getCategory() {
         return category;
     }
@@ -141,6 +184,11 @@ public class AssetResponse {
 
         public CategoryResponse() {}
 
+        public CategoryResponse(Long id, String categoryName) {
+            this.id = id;
+            this.categoryName = categoryName;
+        }
+
         public CategoryResponse(com.assetmanagement.entity.AssetCategory category) {
             this.id = category.getId();
             this.categoryName = category.getCategoryName();
@@ -169,6 +217,11 @@ public class AssetResponse {
 
         public StatusResponse() {}
 
+        public StatusResponse(Long id, String statusName) {
+            this.id = id;
+            this.statusName = statusName;
+        }
+
         public StatusResponse(com.assetmanagement.entity.AssetStatus status) {
             this.id = status.getId();
             this.statusName = status.getStatusName();
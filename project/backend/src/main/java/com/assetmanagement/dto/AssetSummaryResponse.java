@@ -0,0 +1,103 @@
+package com.assetmanagement.dto;
+
+import java.util.List;
+
+public class AssetSummaryResponse {
+    private long totalAssets;
+    private long warrantiesExpiringSoon;
+    private int warrantyWindowDays;
+    private List<Bucket> categories;
+    private List<Bucket> statuses;
+
+    // Constructors
+    public AssetSummaryResponse() {}
+
+    public AssetSummaryResponse(long totalAssets, long warrantiesExpiringSoon, int warrantyWindowDays,
+                                List<Bucket> categories, List<Bucket> statuses) {
+        this.totalAssets = totalAssets;
+        this.warrantiesExpiringSoon = warrantiesExpiringSoon;
+        this.warrantyWindowDays = warrantyWindowDays;
+        this.categories = categories;
+        this.statuses = statuses;
+    }
+
+    // Getters and Setters
+    public long getTotalAssets() {
+        return totalAssets;
+    }
+
+    public void setTotalAssets(long totalAssets) {
+        this.totalAssets = totalAssets;
+    }
+
+    public long getWarrantiesExpiringSoon() {
+        return warrantiesExpiringSoon;
+    }
+
+    public void setWarrantiesExpiringSoon(long warrantiesExpiringSoon) {
+        this.warrantiesExpiringSoon = warrantiesExpiringSoon;
+    }
+
+    public int getWarrantyWindowDays() {
+        return warrantyWindowDays;
+    }
+
+    public void setWarrantyWindowDays(int warrantyWindowDays) {
+        this.warrantyWindowDays = warrantyWindowDays;
+    }
+
+    public List<Bucket> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Bucket> categories) {
+        this.categories = categories;
+    }
+
+    public List<Bucket> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<Bucket> statuses) {
+        this.statuses = statuses;
+    }
+
+    // One category or status with the number of assets in it
+    public static class Bucket {
+        private Long id;
+        private String name;
+        private long count;
+
+        public Bucket() {}
+
+        public Bucket(Long id, String name, long count) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
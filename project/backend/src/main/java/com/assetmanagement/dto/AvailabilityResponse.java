@@ -0,0 +1,32 @@
+package com.assetmanagement.dto;
+
+// Null for a field that was not asked about
+public class AvailabilityResponse {
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+
+    // Constructors
+    public AvailabilityResponse() {}
+
+    public AvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable) {
+        this.usernameAvailable = usernameAvailable;
+        this.emailAvailable = emailAvailable;
+    }
+
+    // Getters and Setters
+    public Boolean getUsernameAvailable() {
+        return usernameAvailable;
+    }
+
+    public void setUsernameAvailable(Boolean usernameAvailable) {
+        this.usernameAvailable = usernameAvailable;
+    }
+
+    public Boolean getEmailAvailable() {
+        return emailAvailable;
+    }
+
+    public void setEmailAvailable(Boolean emailAvailable) {
+        this.emailAvailable = emailAvailable;
+    }
+}
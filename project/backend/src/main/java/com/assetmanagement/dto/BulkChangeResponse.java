@@ -0,0 +1,35 @@
+package com.assetmanagement.dto;
+
+import java.util.List;
+
+public class BulkChangeResponse {
+    // Ids that exist and belong to the user; they now have the requested status, or are deleted
+    private List<Long> affectedIds;
+    // Requested ids that do not exist or belong to someone else
+    private List<Long> notFoundIds;
+
+    // Constructors
+    public BulkChangeResponse() {}
+
+    public BulkChangeResponse(List<Long> affectedIds, List<Long> notFoundIds) {
+        this.affectedIds = affectedIds;
+        this.notFoundIds = notFoundIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getAffectedIds() {
+        return affectedIds;
+    }
+
+    public void setAffectedIds(List<Long> affectedIds) {
+        this.affectedIds = affectedIds;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.assetmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkDeleteRequest {
+    @NotEmpty(message = "Asset IDs are required")
+    private List<Long> ids;
+
+    // Constructors
+    public BulkDeleteRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
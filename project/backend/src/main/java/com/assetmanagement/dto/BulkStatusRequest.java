@@ -0,0 +1,34 @@
+package com.assetmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkStatusRequest {
+    @NotEmpty(message = "Asset IDs are required")
+    private List<Long> ids;
+
+    @NotNull(message = "Status ID is required")
+    private Long statusId;
+
+    // Constructors
+    public BulkStatusRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Long getStatusId() {
+        return statusId;
+    }
+
+    public void setStatusId(Long statusId) {
+        this.statusId = statusId;
+    }
+}
@@ -0,0 +1,64 @@
+package com.assetmanagement.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, String nextCursor, int size, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.size = size;
+        this.hasNext = nextCursor != null;
+        this.totalElements = totalElements;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    // Only populated when the caller asks for it, since counting is O(assets)
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+}
@@ -0,0 +1,61 @@
+package com.assetmanagement.dto;
+
+public class ImageUploadResponse {
+    private String hash;
+    private String contentType;
+    private long size;
+    private String url;
+    private String thumbnailUrl;
+
+    // Constructors
+    public ImageUploadResponse() {}
+
+    public ImageUploadResponse(String hash, String contentType, long size, String url, String thumbnailUrl) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.size = size;
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+}
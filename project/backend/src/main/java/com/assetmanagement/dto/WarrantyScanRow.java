@@ -0,0 +1,10 @@
+package com.assetmanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Keyset position of one asset in the warranty scan, selected by JPQL so the scan never
+ * loads full entities.
+ */
+public record WarrantyScanRow(Long id, LocalDate warrantyExpiryDate) {
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -12,10 +13,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assets")
+@Table(name = "assets", indexes = {
+    @Index(name = "idx_assets_user_created_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_assets_user_warranty", columnList = "user_id, warranty_expiry_date"),
+    @Index(name = "idx_assets_warranty_id", columnList = "warranty_expiry_date, id")
+})
+// UPDATEs list only the columns that changed, so a partial edit writes only what it touched
+@DynamicUpdate
 public class Asset {
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assets_id_seq")
+    @SequenceGenerator(name = "assets_id_seq", sequenceName = "assets_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,12 +36,12 @@ public class Asset {
     @Column(name = "asset_name", nullable = false)
     private String assetName;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @JsonBackReference("category-assets")
     private AssetCategory category;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
     @JsonBackReference("status-assets")
     private AssetStatus status;
@@ -47,6 +56,13 @@ public class Asset {
     @Column(name = "asset_image_url")
     private String assetImageUrl;
 
+    // SHA-256 of an uploaded photo in the image store; null when there is none
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    @Column(name = "image_content_type", length = 32)
+    private String imageContentType;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -55,6 +71,11 @@ public class Asset {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, exposed as the asset's ETag; bulk JPQL updates increment it themselves
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructors
     public Asset() {}
 
@@ -131,6 +152,22 @@ public class Asset {
         this.assetImageUrl = assetImageUrl;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -146,4 +183,12 @@ public class Asset {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,119 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Permanent history of asset changes, copied from the outbox by the audit sink. Keyed by
+ * the outbox event id; the asset id has no foreign key so history outlives deleted assets.
+ */
+@Entity
+@Table(name = "asset_audit_history",
+       indexes = @Index(name = "idx_asset_audit_history_user_asset", columnList = "user_id, asset_id, event_id"))
+public class AssetAuditEntry {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private AssetChangeEvent.Type type;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Column(name = "asset_name")
+    private String assetName;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "status_id")
+    private Long statusId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    // Constructors
+    public AssetAuditEntry() {}
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public AssetChangeEvent.Type getType() {
+        return type;
+    }
+
+    public void setType(AssetChangeEvent.Type type) {
+        this.type = type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public void setAssetName(String assetName) {
+        this.assetName = assetName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getStatusId() {
+        return statusId;
+    }
+
+    public void setStatusId(Long statusId) {
+        this.statusId = statusId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -5,10 +5,12 @@ import jakarta.validation.constraints.NotBlank;
 
 import java.util.List;
 
+import com.assetmanagement.service.MasterDataChangeListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
 @Table(name = "asset_categories")
+@EntityListeners(MasterDataChangeListener.class)
 public class AssetCategory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,124 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One asset mutation, appended to the outbox in the same transaction as the asset write
+ * and removed once the outbox drainer has handed it to every sink. Ids come from a plain
+ * sequence drawn inside each insert statement, never from a preallocated block, so they follow
+ * the order the events were written in. The drainer and the file replay rely on that order.
+ */
+@Entity
+@Table(name = "asset_outbox")
+public class AssetChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_outbox_id_seq")
+    @SequenceGenerator(name = "asset_outbox_id_seq", sequenceName = "asset_outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    // State after the change; a delete carries the classification the asset had
+    @Column(name = "asset_name")
+    private String assetName;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "status_id")
+    private Long statusId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public AssetChangeEvent() {}
+
+    public AssetChangeEvent(Type type, Long userId, Long assetId, String assetName, Long categoryId, Long statusId) {
+        this.type = type;
+        this.userId = userId;
+        this.assetId = assetId;
+        this.assetName = assetName;
+        this.categoryId = categoryId;
+        this.statusId = statusId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public void setAssetName(String assetName) {
+        this.assetName = assetName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getStatusId() {
+        return statusId;
+    }
+
+    public void setStatusId(Long statusId) {
+        this.statusId = statusId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
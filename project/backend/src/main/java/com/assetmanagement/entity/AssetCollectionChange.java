@@ -0,0 +1,53 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One user whose assets changed in a drained outbox batch. Written only by the outbox drainer,
+ * whose batches are serialized by the checkpoint lock, so ids grow in commit order and every
+ * instance can follow the table with an id watermark.
+ */
+@Entity
+@Table(name = "asset_collection_changes",
+       indexes = @Index(name = "idx_asset_collection_changes_changed_at", columnList = "changed_at"))
+public class AssetCollectionChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public AssetCollectionChange() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of assets a user holds in one category or one status. Rows are adjusted by
+ * deltas in the same transaction as the asset write, so the dashboard never scans assets.
+ */
+@Entity
+@Table(name = "asset_counters")
+public class AssetCounter {
+
+    public enum Dimension { CATEGORY, STATUS }
+
+    @EmbeddedId
+    private AssetCounterId id;
+
+    @Column(name = "asset_count", nullable = false)
+    private long assetCount;
+
+    // Constructors
+    public AssetCounter() {}
+
+    public AssetCounter(AssetCounterId id, long assetCount) {
+        this.id = id;
+        this.assetCount = assetCount;
+    }
+
+    // Getters and Setters
+    public AssetCounterId getId() {
+        return id;
+    }
+
+    public void setId(AssetCounterId id) {
+        this.id = id;
+    }
+
+    public long getAssetCount() {
+        return assetCount;
+    }
+
+    public void setAssetCount(long assetCount) {
+        this.assetCount = assetCount;
+    }
+}
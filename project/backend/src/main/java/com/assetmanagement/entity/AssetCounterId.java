@@ -0,0 +1,76 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class AssetCounterId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 16)
+    private AssetCounter.Dimension dimension;
+
+    // Category or status id, depending on the dimension
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    // Constructors
+    public AssetCounterId() {}
+
+    public AssetCounterId(Long userId, AssetCounter.Dimension dimension, Long refId) {
+        this.userId = userId;
+        this.dimension = dimension;
+        this.refId = refId;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public AssetCounter.Dimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(AssetCounter.Dimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public Long getRefId() {
+        return refId;
+    }
+
+    public void setRefId(Long refId) {
+        this.refId = refId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AssetCounterId other)) {
+            return false;
+        }
+        return Objects.equals(userId, other.userId)
+                && dimension == other.dimension
+                && Objects.equals(refId, other.refId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, dimension, refId);
+    }
+}
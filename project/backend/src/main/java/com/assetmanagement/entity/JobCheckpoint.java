@@ -0,0 +1,102 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked background job. Updated in the same transaction as each chunk's
+ * writes, so after a crash the job resumes right after the last committed chunk.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    // Date of the run in progress, or null between runs
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    @Column(name = "last_completed_run_date")
+    private LocalDate lastCompletedRunDate;
+
+    // Window being scanned and the keyset position reached within it
+    @Column(name = "window_days")
+    private Integer windowDays;
+
+    @Column(name = "last_key_date")
+    private LocalDate lastKeyDate;
+
+    @Column(name = "last_key_id")
+    private Long lastKeyId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    public void setRunDate(LocalDate runDate) {
+        this.runDate = runDate;
+    }
+
+    public LocalDate getLastCompletedRunDate() {
+        return lastCompletedRunDate;
+    }
+
+    public void setLastCompletedRunDate(LocalDate lastCompletedRunDate) {
+        this.lastCompletedRunDate = lastCompletedRunDate;
+    }
+
+    public Integer getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(Integer windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public LocalDate getLastKeyDate() {
+        return lastKeyDate;
+    }
+
+    public void setLastKeyDate(LocalDate lastKeyDate) {
+        this.lastKeyDate = lastKeyDate;
+    }
+
+    public Long getLastKeyId() {
+        return lastKeyId;
+    }
+
+    public void setLastKeyId(Long lastKeyId) {
+        this.lastKeyId = lastKeyId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -7,13 +7,19 @@ import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.assetmanagement.security.UserCacheInvalidationListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Lets the availability filter pick up recent sign-ups without scanning the table
+    @Index(name = "idx_users_created_at", columnList = "created_at")
+})
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,6 +48,10 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Tokens issued before this instant are rejected; null until the user is first updated
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference("user-assets")
     private List<Asset> assets;
@@ -104,6 +114,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Instant getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(Instant tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
+
     public List<Asset> getAssets() {
         return assets;
     }
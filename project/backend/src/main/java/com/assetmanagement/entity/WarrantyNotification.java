@@ -0,0 +1,101 @@
+package com.assetmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Tells a user that an asset's warranty crossed one of the configured expiry windows.
+ * Written only by the warranty scan, which inserts with ON CONFLICT DO NOTHING; the unique
+ * key makes re-running a chunk after a crash harmless. The asset id is kept without a
+ * foreign key so notifications outlive deleted assets.
+ */
+@Entity
+@Table(name = "warranty_notifications",
+       uniqueConstraints = @UniqueConstraint(name = "uk_warranty_notifications_asset_window",
+                                             columnNames = {"asset_id", "window_days", "warranty_expiry_date"}),
+       indexes = @Index(name = "idx_warranty_notifications_user_created", columnList = "user_id, created_at"))
+public class WarrantyNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Column(name = "asset_name", nullable = false)
+    private String assetName;
+
+    @Column(name = "window_days", nullable = false)
+    private int windowDays;
+
+    @Column(name = "warranty_expiry_date", nullable = false)
+    private LocalDate warrantyExpiryDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WarrantyNotification() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public void setAssetName(String assetName) {
+        this.assetName = assetName;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(int windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public LocalDate getWarrantyExpiryDate() {
+        return warrantyExpiryDate;
+    }
+
+    public void setWarrantyExpiryDate(LocalDate warrantyExpiryDate) {
+        this.warrantyExpiryDate = warrantyExpiryDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.assetmanagement.exception;
+
+/**
+ * Thrown when an asset does not exist or is not owned by the current user.
+ * The two cases are deliberately indistinguishable to the caller.
+ */
+public class AssetNotFoundException extends RuntimeException {
+
+    public AssetNotFoundException(Long id) {
+        super("Asset not found with ID: " + id);
+    }
+}
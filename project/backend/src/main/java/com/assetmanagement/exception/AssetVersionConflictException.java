@@ -0,0 +1,20 @@
+package com.assetmanagement.exception;
+
+/**
+ * Thrown when a conditional update names a version of the asset that is no longer current,
+ * either from If-Match or because another writer committed first.
+ */
+public class AssetVersionConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public AssetVersionConflictException(Long id, Long currentVersion) {
+        super("Asset " + id + " has been modified since it was read");
+        this.currentVersion = currentVersion;
+    }
+
+    // Null when the competing write was only detected at flush time
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,18 @@
+package com.assetmanagement.exception;
+
+/**
+ * Thrown when registration hits the unique constraint on username or email.
+ */
+public class DuplicateAccountException extends RuntimeException {
+
+    private final String field;
+
+    public DuplicateAccountException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
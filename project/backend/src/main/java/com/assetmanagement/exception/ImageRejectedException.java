@@ -0,0 +1,21 @@
+package com.assetmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown while an image upload streams in, when it turns out too large or not an image.
+ * Carries the status the client should see.
+ */
+public class ImageRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public ImageRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
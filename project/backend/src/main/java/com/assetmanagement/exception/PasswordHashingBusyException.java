@@ -0,0 +1,12 @@
+package com.assetmanagement.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated, so the caller can answer 503
+ * at once instead of queueing behind other logins.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
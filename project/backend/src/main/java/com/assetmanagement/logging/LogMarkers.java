@@ -0,0 +1,15 @@
+package com.assetmanagement.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    /**
+     * Tags per-request DEBUG/TRACE events that would flood the log at full rate;
+     * {@link SamplingTurboFilter} lets only a fraction of them through.
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {}
+}
@@ -0,0 +1,38 @@
+package com.assetmanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly one in {@code rate} DEBUG/TRACE events carrying {@link LogMarkers#SAMPLED}.
+ * Turbo filters run before the event is built or its message formatted, so a dropped
+ * event costs a marker check and a thread-local random draw. Other events pass through untouched.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int rate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || level == null || level.isGreaterOrEqual(Level.INFO) || !marker.contains(LogMarkers.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,23 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.AssetAuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AssetAuditEntryRepository extends JpaRepository<AssetAuditEntry, Long> {
+
+    // Copied inside the database, one statement per batch; the events never round-trip through the app
+    @Modifying
+    @Query(value = "INSERT INTO asset_audit_history " +
+                   "(event_id, event_type, user_id, asset_id, asset_name, category_id, status_id, occurred_at, recorded_at) " +
+                   "SELECT id, event_type, user_id, asset_id, asset_name, category_id, status_id, occurred_at, :recordedAt " +
+                   "FROM asset_outbox WHERE id IN (:eventIds)", nativeQuery = true)
+    int copyFromOutbox(@Param("eventIds") List<Long> eventIds, @Param("recordedAt") LocalDateTime recordedAt);
+}
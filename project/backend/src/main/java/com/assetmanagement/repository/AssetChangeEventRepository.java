@@ -0,0 +1,49 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AssetChangeEventRepository extends JpaRepository<AssetChangeEvent, Long> {
+
+    // Oldest first by primary key, so a batch is one index range read
+    @Query("SELECT e FROM AssetChangeEvent e ORDER BY e.id")
+    List<AssetChangeEvent> findOldest(Pageable pageable);
+
+    // The id is drawn by the statement itself: one round trip, and no block of ids held by this instance
+    @Modifying
+    @Query(value = "INSERT INTO asset_outbox " +
+                   "(id, event_type, user_id, asset_id, asset_name, category_id, status_id, occurred_at) " +
+                   "VALUES (nextval('asset_outbox_id_seq'), :type, :userId, :assetId, :assetName, :categoryId, :statusId, :occurredAt)",
+           nativeQuery = true)
+    int insertEvent(@Param("type") String type,
+                    @Param("userId") Long userId,
+                    @Param("assetId") Long assetId,
+                    @Param("assetName") String assetName,
+                    @Param("categoryId") Long categoryId,
+                    @Param("statusId") Long statusId,
+                    @Param("occurredAt") LocalDateTime occurredAt);
+
+    // One event per listed asset from a single INSERT ... SELECT, carrying the row as it is now
+    @Modifying
+    @Query(value = "INSERT INTO asset_outbox " +
+                   "(id, event_type, user_id, asset_id, asset_name, category_id, status_id, occurred_at) " +
+                   "SELECT nextval('asset_outbox_id_seq'), :type, user_id, id, asset_name, category_id, status_id, :occurredAt " +
+                   "FROM assets WHERE user_id = :userId AND id IN (:assetIds)", nativeQuery = true)
+    int insertForAssets(@Param("type") String type,
+                        @Param("userId") Long userId,
+                        @Param("assetIds") List<Long> assetIds,
+                        @Param("occurredAt") LocalDateTime occurredAt);
+
+    @Modifying
+    @Query("DELETE FROM AssetChangeEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
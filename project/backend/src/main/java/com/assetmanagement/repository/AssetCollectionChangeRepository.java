@@ -0,0 +1,38 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.AssetCollectionChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AssetCollectionChangeRepository extends JpaRepository<AssetCollectionChange, Long> {
+
+    interface Change {
+        Long getId();
+        Long getUserId();
+    }
+
+    // One row per distinct user in the batch, copied inside the database like the audit history
+    @Modifying
+    @Query(value = "INSERT INTO asset_collection_changes (user_id, changed_at) " +
+                   "SELECT DISTINCT user_id, CAST(:changedAt AS TIMESTAMP) FROM asset_outbox WHERE id IN (:eventIds)",
+           nativeQuery = true)
+    int insertForEvents(@Param("eventIds") List<Long> eventIds, @Param("changedAt") LocalDateTime changedAt);
+
+    @Query("SELECT c.id AS id, c.userId AS userId FROM AssetCollectionChange c WHERE c.id > :afterId ORDER BY c.id")
+    List<Change> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM AssetCollectionChange c")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM AssetCollectionChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
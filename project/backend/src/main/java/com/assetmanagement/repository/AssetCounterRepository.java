@@ -0,0 +1,33 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.AssetCounter;
+import com.assetmanagement.entity.AssetCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AssetCounterRepository extends JpaRepository<AssetCounter, AssetCounterId> {
+    List<AssetCounter> findByIdUserId(Long userId);
+
+    // Same lock order as the delta writers (dimension, then ref_id), so the two cannot deadlock
+    @Query(value = "SELECT * FROM asset_counters WHERE user_id = :userId " +
+                   "ORDER BY dimension, ref_id FOR UPDATE", nativeQuery = true)
+    List<AssetCounter> lockByUserId(@Param("userId") Long userId);
+
+    // Atomic upsert; concurrent first writers for the same key cannot collide
+    @Modifying
+    @Query(value = "INSERT INTO asset_counters (user_id, dimension, ref_id, asset_count) " +
+                   "VALUES (:userId, :dimension, :refId, :delta) " +
+                   "ON CONFLICT (user_id, dimension, ref_id) " +
+                   "DO UPDATE SET asset_count = asset_counters.asset_count + EXCLUDED.asset_count",
+           nativeQuery = true)
+    int incrementOnConflict(@Param("userId") Long userId,
+                            @Param("dimension") String dimension,
+                            @Param("refId") Long refId,
+                            @Param("delta") long delta);
+}
@@ -1,14 +1,190 @@
 package com.assetmanagement.repository;
 
+import com.assetmanagement.dto.AssetExportRow;
+import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.dto.WarrantyScanRow;
 import com.assetmanagement.entity.Asset;
+import com.assetmanagement.entity.AssetStatus;
 import com.assetmanagement.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     Page<Asset> findByUser(User user, Pageable pageable);
     Page<Asset> findByUserAndAssetNameContainingIgnoreCase(User user, String assetName, Pageable pageable);
-}
\ No newline at end of file
+    long countByUserId(Long userId);
+    long countByUserIdAndWarrantyExpiryDateBetween(Long userId, LocalDate from, LocalDate to);
+
+    interface Classification {
+        Long getCategoryId();
+        Long getStatusId();
+    }
+
+    interface ClassifiedAsset extends Classification {
+        Long getId();
+    }
+
+    // Locks the rows in id order, so concurrent bulk writers agree on the counter deltas and cannot deadlock
+    @Query(value = "SELECT id, category_id AS categoryId, status_id AS statusId FROM assets " +
+                   "WHERE user_id = :userId AND id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<ClassifiedAsset> lockClassifications(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+
+    @Query("SELECT a.category.id, count(a) FROM Asset a WHERE a.user.id = :userId GROUP BY a.category.id")
+    List<Object[]> countByCategory(@Param("userId") Long userId);
+
+    @Query("SELECT a.status.id, count(a) FROM Asset a WHERE a.user.id = :userId GROUP BY a.status.id")
+    List<Object[]> countByStatus(@Param("userId") Long userId);
+
+    // One joined statement per page (plus the count), with rows built straight into the response DTO
+    @Query(value = "SELECT new com.assetmanagement.dto.AssetResponse(a.id, a.user.id, a.assetName, " +
+                   "c.id, c.categoryName, s.id, s.statusName, a.purchaseDate, a.warrantyExpiryDate, " +
+                   "a.assetImageUrl, a.imageHash, a.createdAt, a.updatedAt, a.version) " +
+                   "FROM Asset a JOIN a.category c JOIN a.status s WHERE a.user.id = :userId",
+           countQuery = "SELECT count(a) FROM Asset a WHERE a.user.id = :userId")
+    Page<AssetResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.assetmanagement.dto.AssetResponse(a.id, a.user.id, a.assetName, " +
+           "c.id, c.categoryName, s.id, s.statusName, a.purchaseDate, a.warrantyExpiryDate, " +
+           "a.assetImageUrl, a.imageHash, a.createdAt, a.updatedAt, a.version) " +
+           "FROM Asset a JOIN a.category c JOIN a.status s WHERE a.id = :id AND a.user.id = :userId")
+    Optional<AssetResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset pages, newest first; both seek on idx_assets_user_created_id so every page costs the same
+    @Query(value = "SELECT * FROM assets WHERE user_id = :userId " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Asset> findFirstKeysetPage(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM assets WHERE user_id = :userId " +
+                   "AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Asset> findKeysetPageAfter(@Param("userId") Long userId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    @Param("limit") int limit);
+
+    // Ranked search over asset and category names; the ILIKE and % predicates use the pg_trgm GIN indexes
+    @Query(value = "SELECT a.* FROM assets a JOIN asset_categories c ON c.id = a.category_id " +
+                   "WHERE a.user_id = :userId " +
+                   "AND (a.asset_name ILIKE :pattern OR a.asset_name % :query OR c.category_name ILIKE :pattern) " +
+                   "ORDER BY GREATEST(similarity(a.asset_name, :query), similarity(c.category_name, :query)) DESC, " +
+                   "a.created_at DESC, a.id DESC",
+           countQuery = "SELECT count(*) FROM assets a JOIN asset_categories c ON c.id = a.category_id " +
+                        "WHERE a.user_id = :userId " +
+                        "AND (a.asset_name ILIKE :pattern OR a.asset_name % :query OR c.category_name ILIKE :pattern)",
+           nativeQuery = true)
+    Page<Asset> searchRanked(@Param("userId") Long userId,
+                             @Param("query") String query,
+                             @Param("pattern") String pattern,
+                             Pageable pageable);
+
+    // Warranty scan chunks in (warranty_expiry_date, id) order, seeking on idx_assets_warranty_id
+    @Query("SELECT new com.assetmanagement.dto.WarrantyScanRow(a.id, a.warrantyExpiryDate) FROM Asset a " +
+           "WHERE a.warrantyExpiryDate > :from AND a.warrantyExpiryDate <= :to " +
+           "ORDER BY a.warrantyExpiryDate, a.id")
+    List<WarrantyScanRow> findWarrantyScanFirst(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                Pageable pageable);
+
+    @Query("SELECT new com.assetmanagement.dto.WarrantyScanRow(a.id, a.warrantyExpiryDate) FROM Asset a " +
+           "WHERE a.warrantyExpiryDate > :from AND a.warrantyExpiryDate <= :to " +
+           "AND (a.warrantyExpiryDate > :lastDate OR (a.warrantyExpiryDate = :lastDate AND a.id > :lastId)) " +
+           "ORDER BY a.warrantyExpiryDate, a.id")
+    List<WarrantyScanRow> findWarrantyScanAfter(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("lastDate") LocalDate lastDate,
+                                                @Param("lastId") Long lastId,
+                                                Pageable pageable);
+
+    // Export chunks in (created_at, id) order, seeking on idx_assets_user_created_id
+    @Query("SELECT new com.assetmanagement.dto.AssetExportRow(a.id, a.assetName, c.id, c.categoryName, " +
+           "s.id, s.statusName, a.purchaseDate, a.warrantyExpiryDate, a.assetImageUrl, a.createdAt, a.updatedAt) " +
+           "FROM Asset a JOIN a.category c JOIN a.status s WHERE a.user.id = :userId " +
+           "ORDER BY a.createdAt, a.id")
+    List<AssetExportRow> findExportRowsFirst(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.assetmanagement.dto.AssetExportRow(a.id, a.assetName, c.id, c.categoryName, " +
+           "s.id, s.statusName, a.purchaseDate, a.warrantyExpiryDate, a.assetImageUrl, a.createdAt, a.updatedAt) " +
+           "FROM Asset a JOIN a.category c JOIN a.status s WHERE a.user.id = :userId " +
+           "AND (a.createdAt > :lastCreatedAt OR (a.createdAt = :lastCreatedAt AND a.id > :lastId)) " +
+           "ORDER BY a.createdAt, a.id")
+    List<AssetExportRow> findExportRowsAfter(@Param("userId") Long userId,
+                                             @Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                             @Param("lastId") Long lastId,
+                                             Pageable pageable);
+
+    /*
+     * Ownership is part of the WHERE clause, so a foreign or missing id simply returns nothing.
+     * Single-statement update that also returns the row's previous category and status, which the
+     * counter deltas are relative to. The sub-select locks the same row the UPDATE locks anyway,
+     * just before it is read, so a concurrent writer is waited for and its values are the ones seen.
+     */
+    @Query(value = "UPDATE assets a SET asset_name = :assetName, category_id = :categoryId, status_id = :statusId, " +
+                   "purchase_date = :purchaseDate, warranty_expiry_date = :warrantyExpiryDate, " +
+                   "asset_image_url = :assetImageUrl, updated_at = :updatedAt, version = a.version + 1 " +
+                   "FROM (SELECT id, category_id, status_id FROM assets " +
+                   "WHERE id = :id AND user_id = :userId FOR UPDATE) old " +
+                   "WHERE a.id = old.id " +
+                   "RETURNING old.category_id AS categoryId, old.status_id AS statusId", nativeQuery = true)
+    Optional<Classification> updateReturningPrevious(@Param("id") Long id,
+                                                     @Param("userId") Long userId,
+                                                     @Param("assetName") String assetName,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("statusId") Long statusId,
+                                                     @Param("purchaseDate") LocalDate purchaseDate,
+                                                     @Param("warrantyExpiryDate") LocalDate warrantyExpiryDate,
+                                                     @Param("assetImageUrl") String assetImageUrl,
+                                                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Unlocked read for PATCH; concurrent writers are caught by the version check on flush
+    @Query("SELECT a FROM Asset a WHERE a.id = :id AND a.user.id = :userId")
+    Optional<Asset> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    interface ImageRef {
+        String getHash();
+        String getContentType();
+    }
+
+    @Query("SELECT a.imageHash AS hash, a.imageContentType AS contentType FROM Asset a " +
+           "WHERE a.id = :id AND a.user.id = :userId")
+    Optional<ImageRef> findImageRef(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Leaves assetImageUrl alone; that is the user's own link, the stored photo is served separately
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.imageHash = :hash, a.imageContentType = :contentType, " +
+           "a.updatedAt = :updatedAt, a.version = a.version + 1 WHERE a.id = :id AND a.user.id = :userId")
+    int updateImage(@Param("id") Long id,
+                    @Param("userId") Long userId,
+                    @Param("hash") String hash,
+                    @Param("contentType") String contentType,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Deletes and returns what the row was classified as, in one statement
+    @Query(value = "DELETE FROM assets WHERE id = :id AND user_id = :userId " +
+                   "RETURNING category_id AS categoryId, status_id AS statusId", nativeQuery = true)
+    Optional<Classification> deleteReturningClassification(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.status = :status, a.updatedAt = :updatedAt, a.version = a.version + 1 " +
+           "WHERE a.user.id = :userId AND a.id IN :ids")
+    int updateStatusByIdsAndUserId(@Param("userId") Long userId,
+                                   @Param("ids") List<Long> ids,
+                                   @Param("status") AssetStatus status,
+                                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Asset a WHERE a.user.id = :userId AND a.id IN :ids")
+    int deleteByIdsAndUserId(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+}
@@ -0,0 +1,20 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    // Held for one chunk, so instances running the same job take turns instead of overlapping
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.jobName = :jobName")
+    Optional<JobCheckpoint> lockByJobName(@Param("jobName") String jobName);
+}
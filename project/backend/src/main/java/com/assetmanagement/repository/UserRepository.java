@@ -1,9 +1,17 @@
 package com.assetmanagement.repository;
 
 import com.assetmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +20,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    interface Identity {
+        Long getId();
+        String getUsername();
+        String getEmail();
+    }
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u " +
+           "WHERE u.id > :afterId ORDER BY u.id")
+    List<Identity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u " +
+           "WHERE u.createdAt >= :since")
+    List<Identity> findIdentitiesCreatedSince(@Param("since") LocalDateTime since);
+
+    interface TokenEpoch {
+        Long getId();
+        Instant getTokensValidAfter();
+    }
+
+    // Empty once the user is deleted, which revokes all of their tokens. The id is selected so a
+    // null tokensValidAfter still yields a row rather than an empty result.
+    @Query("SELECT u.id AS id, u.tokensValidAfter AS tokensValidAfter FROM User u WHERE u.id = :id")
+    Optional<TokenEpoch> findTokenEpoch(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // A bulk update skips the entity listener: a rehash is the same password, so tokens stay valid
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
\ No newline at end of file
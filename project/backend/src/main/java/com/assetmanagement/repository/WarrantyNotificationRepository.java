@@ -0,0 +1,29 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.entity.WarrantyNotification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WarrantyNotificationRepository extends JpaRepository<WarrantyNotification, Long> {
+    Page<WarrantyNotification> findByUserId(Long userId, Pageable pageable);
+
+    // One set-based statement per chunk; rows already notified for this window are skipped
+    @Modifying
+    @Query(value = "INSERT INTO warranty_notifications " +
+                   "(user_id, asset_id, asset_name, window_days, warranty_expiry_date, created_at) " +
+                   "SELECT a.user_id, a.id, a.asset_name, :windowDays, a.warranty_expiry_date, :createdAt " +
+                   "FROM assets a WHERE a.id IN (:assetIds) AND a.warranty_expiry_date IS NOT NULL " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertForAssets(@Param("assetIds") List<Long> assetIds,
+                        @Param("windowDays") int windowDays,
+                        @Param("createdAt") LocalDateTime createdAt);
+}
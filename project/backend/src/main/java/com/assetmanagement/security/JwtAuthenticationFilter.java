@@ -1,10 +1,18 @@
 package com.assetmanagement.security;
 
+import com.assetmanagement.logging.LogMarkers;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,20 +26,51 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private UserDetailsService userDetailsService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private VerifiedPrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.security.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
+    private Counter cacheHits;
+    private Counter verified;
+    private Counter revoked;
+    private Counter failed;
+
+    @PostConstruct
+    public void initMeters() {
+        cacheHits = verificationCounter("cache_hit");
+        verified = verificationCounter("verified");
+        revoked = verificationCounter("revoked");
+        failed = verificationCounter("failed");
+    }
+
+    private Counter verificationCounter(String result) {
+        return Counter.builder("jwt.verifications")
+                .description("Bearer tokens seen by the JWT filter, by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         // Skip JWT validation for public endpoints
         String requestPath = request.getRequestURI();
-        if (requestPath.equals("/") || 
-            requestPath.startsWith("/api/auth/") || 
+        if (requestPath.equals("/") ||
+            requestPath.startsWith("/api/auth/") ||
             requestPath.startsWith("/api/test") ||
             requestPath.equals("/api/categories") ||
             requestPath.equals("/api/statuses") ||
@@ -43,23 +82,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
-
-        if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+        if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (Exception e) {
-                logger.warn("Unable to get JWT Token: " + e.getMessage());
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
+                UserDetails userDetails = resolvePrincipal(jwtToken);
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     usernamePasswordAuthenticationToken
@@ -67,9 +95,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
                 }
             } catch (Exception e) {
-                logger.warn("JWT validation failed: " + e.getMessage());
+                failed.increment();
+                log.debug(LogMarkers.SAMPLED, "JWT validation failed: {}", e.getMessage());
             }
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails resolvePrincipal(String jwtToken) {
+        UserDetailsImpl cached = principalCache.get(jwtToken);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        // Signature and expiry are checked once here; everything below works on trusted claims
+        Claims claims = jwtUtil.parseVerifiedClaims(jwtToken);
+
+        UserDetailsImpl principal;
+        if (statelessPrincipal && claims.get(JwtUtil.CLAIM_USER_ID) != null) {
+            principal = UserDetailsImpl.fromClaims(claims);
+        } else {
+            // Tokens issued before the id claim existed, or stateless mode switched off
+            principal = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (principalCache.isRevoked(principal.getId(), claims.getIssuedAt())) {
+            revoked.increment();
+            log.debug(LogMarkers.SAMPLED, "JWT issued before user {} was invalidated", principal.getId());
+            return null;
+        }
+
+        verified.increment();
+        principalCache.put(jwtToken, principal, claims.getExpiration());
+        return principal;
+    }
+}
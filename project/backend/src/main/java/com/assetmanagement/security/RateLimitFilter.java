@@ -0,0 +1,202 @@
+package com.assetmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP and per-user rate limits for route groups. The per-IP check runs here, before the JWT
+ * filter, so a throttled request costs neither a signature check nor a pooled connection.
+ * <p>
+ * The per-user check runs in {@link UserRateLimitFilter}, after the JWT filter, keyed by the
+ * verified user id, so a forged or rotated token cannot buy a fresh bucket. Requests without
+ * a verified user (login, registration, bad tokens) are limited per IP only. Once a per-IP
+ * limiter is full, new addresses are spread over a fixed set of overflow buckets by address
+ * hash, so a flood of addresses can only throttle the few that share a stripe with it.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // Power of two; overflow IP buckets are picked by the low bits of the address hash
+    private static final int OVERFLOW_STRIPES = 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${app.rate-limit.auth.prefixes:/api/auth/login,/api/auth/register}")
+    private String[] authPrefixes;
+
+    @Value("${app.rate-limit.auth.per-ip:20/PT1M}")
+    private String authPerIp;
+
+    @Value("${app.rate-limit.auth.per-user:}")
+    private String authPerUser;
+
+    @Value("${app.rate-limit.api.prefixes:/api/assets,/api/notifications,/api/auth/availability}")
+    private String[] apiPrefixes;
+
+    @Value("${app.rate-limit.api.per-ip:1200/PT1M}")
+    private String apiPerIp;
+
+    @Value("${app.rate-limit.api.per-user:600/PT1M}")
+    private String apiPerUser;
+
+    private final List<RouteGroup> groups = new ArrayList<>();
+
+    @PostConstruct
+    public void initGroups() {
+        groups.add(group("auth", authPrefixes, authPerIp, authPerUser));
+        groups.add(group("api", apiPrefixes, apiPerIp, apiPerUser));
+    }
+
+    private RouteGroup group(String name, String[] prefixes, String perIp, String perUser) {
+        TokenBucketLimiter.Limit ipLimit = TokenBucketLimiter.Limit.parse(perIp);
+        TokenBucketLimiter.Limit userLimit = TokenBucketLimiter.Limit.parse(perUser);
+        return new RouteGroup(prefixes,
+                ipLimit == null ? null : new TokenBucketLimiter(ipLimit, maxKeys),
+                ipLimit == null ? null : new TokenBucketLimiter(ipLimit, OVERFLOW_STRIPES),
+                userLimit == null ? null : new TokenBucketLimiter(userLimit, maxKeys),
+                rejections(name, "ip"),
+                rejections(name, "user"));
+    }
+
+    private Counter rejections(String group, String key) {
+        return Counter.builder("rate.limit.rejections")
+                .description("Requests answered with 429, by route group and the bucket that ran dry")
+                .tag("group", group)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return shouldSkip(request);
+    }
+
+    boolean shouldSkip(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RouteGroup group = match(request.getRequestURI());
+        if (group != null && group.perIp != null) {
+            long now = System.nanoTime();
+            long key = hash(request.getRemoteAddr());
+            long wait = group.perIp.tryAcquire(key, now);
+            if (wait == TokenBucketLimiter.UNTRACKED) {
+                wait = group.perIpOverflow.tryAcquire(key & (OVERFLOW_STRIPES - 1), now);
+            }
+            if (wait > 0) {
+                group.ipRejections.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * The per-user check, called by {@link UserRateLimitFilter} once the JWT filter has run.
+     * Returns false after answering 429. A request without a verified user, or a user the full
+     * limiter cannot track, has already been counted against its IP's bucket and passes.
+     */
+    boolean acquireForUser(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RouteGroup group = match(request.getRequestURI());
+        if (group == null || group.perUser == null) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl principal)) {
+            return true;
+        }
+        long wait = group.perUser.tryAcquire(principal.getId(), System.nanoTime());
+        if (wait > 0) {
+            group.userRejections.increment();
+            reject(response, wait);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(initialDelayString = "${app.rate-limit.eviction-interval:PT1M}",
+               fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (RouteGroup group : groups) {
+            evicted += group.perIp == null ? 0 : group.perIp.evictIdle(now);
+            evicted += group.perIpOverflow == null ? 0 : group.perIpOverflow.evictIdle(now);
+            evicted += group.perUser == null ? 0 : group.perUser.evictIdle(now);
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private RouteGroup match(String path) {
+        for (RouteGroup group : groups) {
+            for (String prefix : group.prefixes) {
+                if (path.startsWith(prefix)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"Retry after " + seconds + " seconds\"}");
+    }
+
+    // FNV-1a, 64 bit
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private record RouteGroup(String[] prefixes,
+                              TokenBucketLimiter perIp,
+                              TokenBucketLimiter perIpOverflow,
+                              TokenBucketLimiter perUser,
+                              Counter ipRejections,
+                              Counter userRejections) {}
+}
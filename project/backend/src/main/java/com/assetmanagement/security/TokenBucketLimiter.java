@@ -0,0 +1,92 @@
+package com.assetmanagement.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by a 64-bit client key, each holding up to {@code capacity} tokens that
+ * refill evenly over {@code period}. A bucket is a single AtomicLong: the time at which it would
+ * be full again (GCRA), so acquiring is one CAS and needs no lock or refill timer.
+ * <p>
+ * A bucket whose full-again time has passed is indistinguishable from a new one, so idle buckets
+ * can be evicted without losing state. Once {@code maxKeys} buckets exist, a new key gets
+ * {@link #UNTRACKED} until eviction makes room, so a flood of distinct keys cannot grow the map,
+ * and the caller decides how to limit it instead of every new key sharing one bucket.
+ */
+public final class TokenBucketLimiter {
+
+    public static final long UNTRACKED = -1;
+
+    public record Limit(int capacity, Duration period) {
+
+        /**
+         * Parses {@code <requests>/<ISO-8601 duration>}, e.g. {@code 20/PT1M}. Blank means no limit.
+         */
+        public static Limit parse(String spec) {
+            if (spec == null || spec.isBlank()) {
+                return null;
+            }
+            int slash = spec.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rate limit must look like 20/PT1M: " + spec);
+            }
+            Limit limit = new Limit(Integer.parseInt(spec.substring(0, slash).trim()),
+                    Duration.parse(spec.substring(slash + 1).trim()));
+            if (limit.capacity < 1 || limit.period.isNegative() || limit.period.isZero()) {
+                throw new IllegalArgumentException("Rate limit must allow at least 1 request per positive period: " + spec);
+            }
+            return limit;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final int maxKeys;
+
+    public TokenBucketLimiter(Limit limit, int maxKeys) {
+        this.emissionInterval = Math.max(1, limit.period().toNanos() / limit.capacity());
+        this.burstWindow = emissionInterval * limit.capacity();
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the key's bucket. Returns 0 if it was available, otherwise the
+     * nanoseconds until one will be; a refused request consumes nothing. Returns
+     * {@link #UNTRACKED} for a new key while the limiter is full.
+     */
+    public long tryAcquire(long key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return UNTRACKED;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - nowNanos > 0 ? fullAt : nowNanos) + emissionInterval;
+            long excess = next - nowNanos - burstWindow;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely and returns how many were removed.
+     */
+    public int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * JPA listener on {@link User} that revokes outstanding tokens when a user is updated
+ * (e.g. a password change) or deleted. The cutoff is stored on the user row, so every
+ * instance honours it, also after a restart; this instance's cached principals go at once.
+ * Instantiated by Hibernate through Spring's bean container while the EntityManagerFactory
+ * is still being built, so the cache (which needs the user repository) is injected lazily.
+ */
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    @Lazy
+    private VerifiedPrincipalCache principalCache;
+
+    // Truncated to seconds, like the iat claim it is compared with
+    @PreUpdate
+    public void revokeTokens(User user) {
+        user.setTokensValidAfter(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(User user) {
+        principalCache.invalidateUser(user.getId());
+    }
+}
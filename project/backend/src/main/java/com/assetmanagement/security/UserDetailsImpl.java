@@ -1,6 +1,7 @@
 package com.assetmanagement.security;
 
 import com.assetmanagement.entity.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -29,6 +30,16 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    // Builds the principal from already verified token claims; no credentials are carried
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        return new UserDetailsImpl(
+                claims.get(JwtUtil.CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                claims.get(JwtUtil.CLAIM_EMAIL, String.class),
+                null
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.emptyList();
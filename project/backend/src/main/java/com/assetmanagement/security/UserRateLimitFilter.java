@@ -0,0 +1,35 @@
+package com.assetmanagement.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * The per-user half of {@link RateLimitFilter}, placed after the JWT filter so buckets are
+ * keyed by the verified user id rather than by anything the client can vary.
+ */
+@Component
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rateLimitFilter.shouldSkip(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimitFilter.acquireForUser(request, response)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
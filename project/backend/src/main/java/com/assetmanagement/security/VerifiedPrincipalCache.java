@@ -0,0 +1,117 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of principals whose JWT signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the token (the raw token is never kept),
+ * evicted least-recently-used past the maximum size, and live until the token expires
+ * or for the cache TTL, whichever comes first.
+ *
+ * Revocation is read from the users row on every cache miss: a deleted user, or a token
+ * issued before the user's tokens_valid_after, is rejected on every instance. The TTL
+ * bounds how long a principal cached before another instance's revocation stays usable.
+ */
+@Component
+public class VerifiedPrincipalCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${spring.security.jwt.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${spring.security.jwt.principal-cache.ttl:PT1M}")
+    private Duration ttl;
+
+    private Cache<String, Entry> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long untilTokenExpiry = TimeUnit.MILLISECONDS.toNanos(entry.expiresAt - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilTokenExpiry, ttl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public UserDetailsImpl get(String token) {
+        Entry entry = entries.getIfPresent(digest(token));
+        return entry == null ? null : entry.principal;
+    }
+
+    public void put(String token, UserDetailsImpl principal, Date expiresAt) {
+        entries.put(digest(token), new Entry(principal, expiresAt.getTime()));
+    }
+
+    /**
+     * Returns true if the user no longer exists or revoked their tokens after this one was issued.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Optional<UserRepository.TokenEpoch> epoch = userRepository.findTokenEpoch(userId);
+        if (epoch.isEmpty()) {
+            return true;
+        }
+        Instant validAfter = epoch.get().getTokensValidAfter();
+        return validAfter != null && (issuedAt == null || issuedAt.toInstant().isBefore(validAfter));
+    }
+
+    // Only runs when a user is updated or deleted, so a scan of the cache is acceptable here
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.asMap().values().removeIf(entry -> userId.equals(entry.principal.getId()));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final UserDetailsImpl principal;
+        private final long expiresAt;
+
+        private Entry(UserDetailsImpl principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.User;
+import com.assetmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Answers "is this username / email free?" from a Bloom filter over every registered value.
+ * A filter miss is answered without touching the database; only a possible hit is confirmed
+ * with an exists query. The answer is advisory: registration itself relies on the unique
+ * constraints.
+ * <p>
+ * The filter is built in full on the first refresh, then topped up from users created since the
+ * previous refresh (with an overlap, since ids and creation times commit out of order), so sign-ups
+ * on other instances appear within one refresh interval. Until it is built, every check goes to
+ * the database.
+ */
+@Service
+public class AccountAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAvailabilityService.class);
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${app.auth.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.auth.availability.refresh-interval:PT30S}")
+    private Duration refreshInterval;
+
+    @Value("${app.auth.availability.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile BloomFilter filter;
+    private final AtomicLong insertions = new AtomicLong();
+    private LocalDateTime lastRefresh;
+
+    private Counter filterMisses;
+    private Counter confirmedTaken;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void initMeters() {
+        filterMisses = checkCounter("filter_miss");
+        confirmedTaken = checkCounter("taken");
+        falsePositives = checkCounter("false_positive");
+    }
+
+    private Counter checkCounter(String result) {
+        return Counter.builder("auth.availability.checks")
+                .description("Availability checks, by whether the Bloom filter alone could answer")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable(USERNAME_PREFIX + username, () -> userRepository.existsByUsername(username));
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(EMAIL_PREFIX + email, () -> userRepository.existsByEmail(email));
+    }
+
+    private boolean isAvailable(String key, BooleanSupplier existsInDatabase) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            filterMisses.increment();
+            return true;
+        }
+        boolean taken = existsInDatabase.getAsBoolean();
+        if (current != null) {
+            (taken ? confirmedTaken : falsePositives).increment();
+        }
+        return !taken;
+    }
+
+    /**
+     * Records a user registered through this instance, so it is reported as taken at once.
+     */
+    public void registered(User user) {
+        BloomFilter current = filter;
+        if (current != null) {
+            add(current, user.getUsername(), user.getEmail());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.availability.refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            BloomFilter current = filter;
+            if (current == null || insertions.get() > current.capacity()) {
+                rebuild();
+                return;
+            }
+            LocalDateTime started = LocalDateTime.now();
+            List<UserRepository.Identity> recent =
+                    userRepository.findIdentitiesCreatedSince(lastRefresh.minus(refreshInterval));
+            for (UserRepository.Identity identity : recent) {
+                add(current, identity.getUsername(), identity.getEmail());
+            }
+            lastRefresh = started;
+        } catch (Exception e) {
+            log.error("Refreshing the account availability filter failed", e);
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        long users = userRepository.count();
+        // Two values per user, with room for the user count to double before the next rebuild
+        BloomFilter rebuilt = new BloomFilter(2 * Math.max(expectedUsers, users * 2), falsePositiveRate);
+        insertions.set(0);
+
+        long afterId = 0;
+        List<UserRepository.Identity> batch;
+        do {
+            batch = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, loadBatchSize));
+            for (UserRepository.Identity identity : batch) {
+                add(rebuilt, identity.getUsername(), identity.getEmail());
+                afterId = identity.getId();
+            }
+        } while (batch.size() == loadBatchSize);
+
+        filter = rebuilt;
+        lastRefresh = started;
+        log.info("Account availability filter built over {} users ({} values, capacity {})",
+                users, insertions.get(), rebuilt.capacity());
+    }
+
+    // Only new values count towards capacity, so the refresh overlap does not trigger early rebuilds
+    private void add(BloomFilter target, String username, String email) {
+        if (target.add(USERNAME_PREFIX + username)) {
+            insertions.incrementAndGet();
+        }
+        if (target.add(EMAIL_PREFIX + email)) {
+            insertions.incrementAndGet();
+        }
+    }
+}
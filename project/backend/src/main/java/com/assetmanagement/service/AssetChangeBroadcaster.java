@@ -0,0 +1,166 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed asset changes out to the user's open /api/assets/stream connections on this
+ * instance. Each change is encoded once as an SSE frame and offered to every subscriber's
+ * bounded buffer; publishing never waits on a network write. A subscriber whose buffer is full
+ * is too slow to keep up and is disconnected, so it reconnects and reloads instead of holding
+ * an ever-growing backlog.
+ */
+@Component
+public class AssetChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetChangeBroadcaster.class);
+
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    public interface Subscriber {
+        /**
+         * Queues a frame without blocking; false when the subscriber's buffer is full.
+         */
+        boolean offer(byte[] frame);
+
+        void close();
+    }
+
+    public record AssetChange(AssetChangeEvent.Type type, List<Long> assetIds) {}
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.asset-stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.asset-stream.max-subscribers-per-user:8}")
+    private int maxSubscribersPerUser;
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private Counter evictions;
+
+    @PostConstruct
+    public void initMeters() {
+        Gauge.builder("asset.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open /api/assets/stream connections")
+                .register(meterRegistry);
+        evictions = Counter.builder("asset.stream.evictions")
+                .description("Stream connections closed because their buffer filled up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a connection; false when this instance or this user already has the maximum open.
+     */
+    public boolean subscribe(Long userId, Subscriber subscriber) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        boolean[] added = new boolean[1];
+        subscribersByUser.compute(userId, (id, current) -> {
+            Set<Subscriber> subscribers = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (subscribers.size() < maxSubscribersPerUser) {
+                added[0] = subscribers.add(subscriber);
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+        }
+        return added[0];
+    }
+
+    public void unsubscribe(Long userId, Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribersByUser.computeIfPresent(userId, (id, subscribers) -> {
+            removed[0] = subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Publishes once the surrounding transaction commits, so streams never announce a change
+     * that was rolled back; immediately when called outside a transaction.
+     */
+    public void publishAfterCommit(Long userId, AssetChangeEvent.Type type, List<Long> assetIds) {
+        if (!subscribersByUser.containsKey(userId)) {
+            return;
+        }
+        AssetChange change = new AssetChange(type, assetIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, change);
+                }
+            });
+        } else {
+            publish(userId, change);
+        }
+    }
+
+    private void publish(Long userId, AssetChange change) {
+        Set<Subscriber> subscribers = subscribersByUser.get(userId);
+        if (subscribers == null) {
+            return;
+        }
+        byte[] frame;
+        try {
+            frame = ("event: asset\ndata: " + objectMapper.writeValueAsString(change) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode asset change for user {}: {}", userId, e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            offerOrEvict(subscriber, frame);
+        }
+    }
+
+    // Keeps idle connections alive through proxies, and finds connections whose client is gone
+    @Scheduled(fixedRateString = "${app.asset-stream.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByUser.values()) {
+            for (Subscriber subscriber : subscribers) {
+                offerOrEvict(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private void offerOrEvict(Subscriber subscriber, byte[] frame) {
+        if (!subscriber.offer(frame)) {
+            evictions.increment();
+            subscriber.close();
+        }
+    }
+}
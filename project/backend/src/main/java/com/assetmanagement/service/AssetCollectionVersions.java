@@ -0,0 +1,143 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.repository.AssetCollectionChangeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user version of the asset collection, bumped after every committed write, from which
+ * list ETags are derived. Lets a matching If-None-Match be answered without a transaction.
+ * <p>
+ * Versions live in a fixed array of longs indexed by a hash of the user id, so there is no
+ * boxing and no per-user allocation. Two users sharing a slot only invalidate each other's
+ * ETags more often; a write can never leave a stale ETag valid. Writes on this instance bump
+ * the version at commit. Writes on other instances arrive through the outbox: the
+ * {@link CollectionChangeSink} appends the changed users to asset_collection_changes, and every
+ * instance follows that table. The epoch changes on restart, so tags never outlive a process.
+ */
+@Component
+public class AssetCollectionVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCollectionVersions.class);
+
+    private static final int SYNC_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private AssetCollectionChangeRepository changeRepository;
+
+    @Value("${app.asset-list-etag.change-retention:PT10M}")
+    private Duration changeRetention;
+
+    private final AtomicLongArray versions;
+    private final int mask;
+    private volatile long epoch = ThreadLocalRandom.current().nextLong();
+
+    // Only the scheduler thread touches these after startup
+    private long watermark;
+    private long lastSyncNanos;
+
+    public AssetCollectionVersions(@Value("${app.asset-list-etag.slots:65536}") int slots) {
+        if (slots < 1 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("app.asset-list-etag.slots must be a power of two");
+        }
+        this.versions = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+    }
+
+    // Changes drained before this instance started are covered by its fresh epoch
+    @PostConstruct
+    public void initWatermark() {
+        watermark = changeRepository.findMaxId();
+        lastSyncNanos = System.nanoTime();
+    }
+
+    public long current(Long userId) {
+        return versions.get(slot(userId));
+    }
+
+    /**
+     * Bumps the user's version once the current transaction commits (or immediately outside one).
+     * Bumping before commit would let a concurrent reader pair the new version with old rows.
+     */
+    public void bumpAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.incrementAndGet(slot(userId));
+                }
+            });
+        } else {
+            versions.incrementAndGet(slot(userId));
+        }
+    }
+
+    /**
+     * Applies changes other instances drained since the last sync. A tag issued elsewhere stays
+     * valid here for at most one outbox poll plus one sync interval after the write committed.
+     * Changes this instance made itself come back too and bump once more, which only costs a
+     * spurious 200.
+     */
+    @Scheduled(fixedDelayString = "${app.asset-list-etag.sync-interval:PT1S}")
+    public void syncChanges() {
+        try {
+            long started = System.nanoTime();
+            if (started - lastSyncNanos > changeRetention.toNanos()) {
+                // Rows may have been pruned before this instance read them, so no version can be trusted
+                watermark = changeRepository.findMaxId();
+                epoch = ThreadLocalRandom.current().nextLong();
+                lastSyncNanos = started;
+                log.warn("Asset collection changes were not read for over {}; all list ETags were reset",
+                        changeRetention);
+                return;
+            }
+            List<AssetCollectionChangeRepository.Change> batch;
+            do {
+                batch = changeRepository.findAfter(watermark, PageRequest.of(0, SYNC_BATCH_SIZE));
+                for (AssetCollectionChangeRepository.Change change : batch) {
+                    versions.incrementAndGet(slot(change.getUserId()));
+                    watermark = change.getId();
+                }
+            } while (batch.size() == SYNC_BATCH_SIZE);
+            lastSyncNanos = started;
+        } catch (Exception e) {
+            log.error("Reading asset collection changes failed; retrying on the next sync", e);
+        }
+    }
+
+    /**
+     * Weak ETag for one listing of the user's assets. The request parameters and the negotiated
+     * representation go into the tag, as does the master data content tag, since rows carry the
+     * category and status names. Must be computed before the rows are read.
+     */
+    public String etag(Long userId, Object... request) {
+        long version = current(userId);
+        String masterData = masterDataService.getSnapshot().getContentTag();
+        int requestHash = 31 * Long.hashCode(userId) + Arrays.hashCode(request);
+        return "W/\"" + Long.toHexString(epoch) + "-" + masterData + "-"
+                + Long.toHexString(version) + "-" + Integer.toHexString(requestHash) + "\"";
+    }
+
+    private int slot(Long userId) {
+        // Fibonacci hashing spreads sequential ids across the array
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
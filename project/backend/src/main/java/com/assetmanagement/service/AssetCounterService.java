@@ -0,0 +1,114 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.AssetSummaryResponse;
+import com.assetmanagement.dto.AssetSummaryResponse.Bucket;
+import com.assetmanagement.entity.AssetCounter;
+import com.assetmanagement.entity.AssetCounter.Dimension;
+import com.assetmanagement.repository.AssetCounterRepository;
+import com.assetmanagement.repository.AssetRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per-user asset_counters rows and serves the dashboard summary from them.
+ * Writers describe their effect as {@link Deltas}, which are applied inside the caller's
+ * transaction so the counters commit or roll back together with the asset rows.
+ */
+@Service
+public class AssetCounterService {
+
+    @Autowired
+    private AssetCounterRepository counterRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Value("${app.dashboard.warranty-window-days:30}")
+    private int warrantyWindowDays;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Deltas deltas) {
+        // Sorted, so every writer locks counter rows in the same order
+        for (Map.Entry<CounterKey, Long> entry : deltas.values.entrySet()) {
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            CounterKey key = entry.getKey();
+            counterRepository.incrementOnConflict(userId, key.dimension().name(), key.refId(), delta);
+        }
+    }
+
+    // O(categories + statuses) plus one indexed range count; assets themselves are never scanned
+    @Timed(value = "assets.service", extraTags = {"operation", "summary"})
+    @Transactional(readOnly = true)
+    public AssetSummaryResponse getSummary(Long userId) {
+        Map<Long, Long> byCategory = new HashMap<>();
+        Map<Long, Long> byStatus = new HashMap<>();
+        for (AssetCounter counter : counterRepository.findByIdUserId(userId)) {
+            Map<Long, Long> target = counter.getId().getDimension() == Dimension.CATEGORY ? byCategory : byStatus;
+            target.put(counter.getId().getRefId(), counter.getAssetCount());
+        }
+
+        MasterDataSnapshot snapshot = masterDataService.getSnapshot();
+        List<Bucket> categories = buckets(snapshot.getCategoryNames(), byCategory);
+        List<Bucket> statuses = buckets(snapshot.getStatusNames(), byStatus);
+        long total = byCategory.values().stream().mapToLong(Long::longValue).sum();
+
+        LocalDate today = LocalDate.now();
+        long expiringSoon = assetRepository.countByUserIdAndWarrantyExpiryDateBetween(
+                userId, today, today.plusDays(warrantyWindowDays));
+
+        return new AssetSummaryResponse(total, expiringSoon, warrantyWindowDays, categories, statuses);
+    }
+
+    private static List<Bucket> buckets(Map<Long, String> names, Map<Long, Long> counts) {
+        List<Bucket> buckets = new ArrayList<>(names.size());
+        names.forEach((id, name) -> buckets.add(new Bucket(id, name, counts.getOrDefault(id, 0L))));
+        return buckets;
+    }
+
+    /**
+     * Net counter changes produced by one transaction. Moves between the same category or
+     * status cancel out and cost no statement.
+     */
+    public static final class Deltas {
+        private final Map<CounterKey, Long> values = new TreeMap<>();
+
+        public Deltas added(Long categoryId, Long statusId) {
+            return adjust(categoryId, statusId, 1);
+        }
+
+        public Deltas removed(Long categoryId, Long statusId) {
+            return adjust(categoryId, statusId, -1);
+        }
+
+        private Deltas adjust(Long categoryId, Long statusId, long delta) {
+            values.merge(new CounterKey(Dimension.CATEGORY, categoryId), delta, Long::sum);
+            values.merge(new CounterKey(Dimension.STATUS, statusId), delta, Long::sum);
+            return this;
+        }
+    }
+
+    private record CounterKey(Dimension dimension, Long refId) implements Comparable<CounterKey> {
+        @Override
+        public int compareTo(CounterKey other) {
+            int byDimension = dimension.name().compareTo(other.dimension.name());
+            return byDimension != 0 ? byDimension : refId.compareTo(other.refId);
+        }
+    }
+}
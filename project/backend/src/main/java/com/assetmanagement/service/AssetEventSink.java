@@ -0,0 +1,17 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination for drained outbox events. Called inside the drainer's transaction, in id
+ * order; throwing rolls the batch back so it is delivered again on the next poll. Delivery is
+ * therefore at-least-once, and sinks outside the database should tolerate repeated event ids.
+ */
+public interface AssetEventSink {
+
+    String name();
+
+    void deliver(List<AssetChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,135 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.AssetExportRow;
+import com.assetmanagement.repository.AssetRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's assets straight to an output stream, one keyset chunk at a time. Each chunk
+ * is a separate short query, so no pooled connection is held while bytes go to a slow client,
+ * and memory is bounded by the chunk size. Rows are not read from one snapshot: an asset
+ * written during a long export may or may not appear, but none appears twice.
+ */
+@Service
+public class AssetExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER = "id,assetName,categoryId,categoryName,statusId,statusName," +
+            "purchaseDate,warrantyExpiryDate,assetImageUrl,createdAt,updatedAt";
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.chunk-size:1000}")
+    private int chunkSize;
+
+    // Deliberately not transactional: each chunk query borrows a connection only while it runs
+    @Timed(value = "assets.service", extraTags = {"operation", "export"})
+    public long exportAssets(Long userId, Format format, OutputStream out) throws IOException {
+        try (Stream<AssetExportRow> rows = chunkedRows(userId)) {
+            return format == Format.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // The next chunk is only queried once the writer has consumed the previous one
+    private Stream<AssetExportRow> chunkedRows(Long userId) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        return Stream.iterate(assetRepository.findExportRowsFirst(userId, chunk),
+                        rows -> !rows.isEmpty(),
+                        rows -> {
+                            if (rows.size() < chunkSize) {
+                                return List.of();
+                            }
+                            AssetExportRow last = rows.get(rows.size() - 1);
+                            return assetRepository.findExportRowsAfter(userId, last.createdAt(), last.id(), chunk);
+                        })
+                .flatMap(List::stream);
+    }
+
+    private long writeNdjson(Stream<AssetExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        // Leave the servlet stream open for the trailing newline; the container closes it
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            for (AssetExportRow row : (Iterable<AssetExportRow>) rows::iterator) {
+                writer.write(row);
+                count++;
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Stream<AssetExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        for (AssetExportRow row : (Iterable<AssetExportRow>) rows::iterator) {
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(csv(row.assetName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.categoryId()));
+            writer.write(',');
+            writer.write(csv(row.categoryName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.statusId()));
+            writer.write(',');
+            writer.write(csv(row.statusName()));
+            writer.write(',');
+            writer.write(csv(row.purchaseDate()));
+            writer.write(',');
+            writer.write(csv(row.warrantyExpiryDate()));
+            writer.write(',');
+            writer.write(csv(row.assetImageUrl()));
+            writer.write(',');
+            writer.write(csv(row.createdAt()));
+            writer.write(',');
+            writer.write(csv(row.updatedAt()));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,96 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.ImageUploadResponse;
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.exception.AssetNotFoundException;
+import com.assetmanagement.repository.AssetRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Attaches uploaded photos to assets. Not transactional: the upload streams to disk without
+ * a connection, and only the final UPDATE and its outbox event run in a transaction.
+ */
+@Service
+public class AssetImageService {
+
+    public record ImageFile(Path path, String contentType, String hash, boolean thumbnail) {
+
+        public String etag() {
+            return thumbnail ? "\"" + hash + "-thumb\"" : "\"" + hash + "\"";
+        }
+    }
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private AssetCollectionVersions collectionVersions;
+
+    @Autowired
+    private AssetOutbox outbox;
+
+    @Autowired
+    private AssetChangeBroadcaster changeBroadcaster;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Timed(value = "assets.service", extraTags = {"operation", "image-upload"})
+    public ImageUploadResponse upload(Long userId, Long assetId, InputStream body, long declaredLength)
+            throws IOException {
+        // Checked first so a foreign or missing asset never gets its upload streamed to disk
+        if (!assetRepository.existsByIdAndUserId(assetId, userId)) {
+            throw new AssetNotFoundException(assetId);
+        }
+        ImageStore.StoredImage stored = imageStore.store(body, declaredLength);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (assetRepository.updateImage(assetId, userId, stored.hash(), stored.contentType(),
+                    LocalDateTime.now()) == 0) {
+                throw new AssetNotFoundException(assetId);
+            }
+            outbox.recordForAssets(AssetChangeEvent.Type.UPDATED, userId, List.of(assetId));
+            collectionVersions.bumpAfterCommit(userId);
+            changeBroadcaster.publishAfterCommit(userId, AssetChangeEvent.Type.UPDATED, List.of(assetId));
+        });
+        String url = imageUrl(assetId, stored.hash());
+        return new ImageUploadResponse(stored.hash(), stored.contentType(), stored.size(), url,
+                url + "&thumbnail=true");
+    }
+
+    /**
+     * Resolves the file to serve. A thumbnail that is not generated (yet) falls back to the original.
+     */
+    public ImageFile find(Long userId, Long assetId, boolean thumbnail) {
+        AssetRepository.ImageRef ref = assetRepository.findImageRef(assetId, userId)
+                .orElseThrow(() -> new AssetNotFoundException(assetId));
+        if (ref.getHash() == null) {
+            throw new AssetNotFoundException(assetId);
+        }
+        if (thumbnail) {
+            Path thumbnailPath = imageStore.thumbnail(ref.getHash());
+            if (Files.exists(thumbnailPath)) {
+                return new ImageFile(thumbnailPath, "image/jpeg", ref.getHash(), true);
+            }
+        }
+        return new ImageFile(imageStore.original(ref.getHash()), ref.getContentType(), ref.getHash(), false);
+    }
+
+    // Versioned by content hash, so a response for this exact URL never changes
+    private static String imageUrl(Long assetId, String hash) {
+        return "/api/assets/" + assetId + "/image?v=" + hash;
+    }
+}
@@ -0,0 +1,357 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.AssetRequest;
+import com.assetmanagement.dto.BulkImportResponse;
+import com.assetmanagement.dto.BulkImportResponse.RowError;
+import com.assetmanagement.entity.Asset;
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON or CSV asset rows from the request body and inserts them in fixed-size
+ * chunks, one short transaction per chunk. Only the current chunk is held in memory, so
+ * uploads of any size run in bounded heap.
+ */
+@Service
+public class AssetImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetImportService.class);
+
+    public enum Format { NDJSON, CSV }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private AssetCounterService assetCounterService;
+
+    @Autowired
+    private AssetCollectionVersions collectionVersions;
+
+    @Autowired
+    private AssetOutbox outbox;
+
+    @Autowired
+    private AssetChangeBroadcaster changeBroadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    private static final String DATABASE_REJECTED = "Rejected by the database (check field lengths and values)";
+
+    @Value("${app.bulk-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.bulk-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.bulk-import.max-line-length:65536}")
+    private int maxLineLength;
+
+    @Timed(value = "assets.service", extraTags = {"operation", "bulk-import"})
+    public BulkImportResponse importAssets(Long userId, Reader body, Format format) throws IOException {
+        BulkImportResponse result = new BulkImportResponse();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        BoundedLineReader reader = new BoundedLineReader(new BufferedReader(body), maxLineLength);
+        Map<String, Integer> csvColumns = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.lastLineTooLong()) {
+                if (format == Format.CSV && csvColumns == null) {
+                    throw new IllegalArgumentException("CSV header is longer than " + maxLineLength + " characters");
+                }
+                recordError(result, lineNumber, "Row is longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            try {
+                AssetRequest request = format == Format.CSV
+                        ? parseCsvRow(line, csvColumns)
+                        : objectMapper.readValue(line, AssetRequest.class);
+                validate(request);
+                chunk.add(new PendingRow(lineNumber, request));
+            } catch (Exception e) {
+                log.debug("Bulk import line {} rejected: {}", lineNumber, e.getMessage());
+                recordError(result, lineNumber, describe(e));
+            }
+
+            if (chunk.size() >= batchSize) {
+                flushChunk(userId, chunk, transactionTemplate, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(userId, chunk, transactionTemplate, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Inserts the chunk in one transaction. If the database rejects it, the rows are retried one
+     * transaction each, so only the rows that actually fail are reported.
+     */
+    private void flushChunk(Long userId, List<PendingRow> chunk, TransactionTemplate transactionTemplate,
+                            BulkImportResponse result) {
+        try {
+            insert(userId, chunk, transactionTemplate);
+            result.setImported(result.getImported() + chunk.size());
+        } catch (Exception e) {
+            log.warn("Bulk import chunk of {} rows failed, retrying rows one at a time: {}", chunk.size(), e.getMessage());
+            for (PendingRow row : chunk) {
+                try {
+                    insert(userId, List.of(row), transactionTemplate);
+                    result.setImported(result.getImported() + 1);
+                } catch (Exception rowError) {
+                    log.debug("Bulk import line {} rejected by database: {}", row.line, rowError.getMessage());
+                    recordError(result, row.line, DATABASE_REJECTED);
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    // Entities are built inside the transaction, so a retry never sees ids a rolled-back attempt assigned
+    private void insert(Long userId, List<PendingRow> rows, TransactionTemplate transactionTemplate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = entityManager.getReference(User.class, userId);
+            AssetCounterService.Deltas deltas = new AssetCounterService.Deltas();
+            List<Long> created = new ArrayList<>(rows.size());
+            for (PendingRow row : rows) {
+                Asset asset = toAsset(row.request);
+                asset.setUser(owner);
+                entityManager.persist(asset);
+                deltas.added(asset.getCategory().getId(), asset.getStatus().getId());
+                created.add(asset.getId());
+            }
+            // Flush as JDBC batches, then detach so the persistence context stays small
+            entityManager.flush();
+            entityManager.clear();
+            // One upsert per distinct category and status in the chunk, not per row
+            assetCounterService.apply(userId, deltas);
+            // One INSERT ... SELECT records the chunk's events from the rows just written
+            outbox.recordForAssets(AssetChangeEvent.Type.CREATED, userId, created);
+            collectionVersions.bumpAfterCommit(userId);
+            // One stream event per chunk, listing every asset it created
+            changeBroadcaster.publishAfterCommit(userId, AssetChangeEvent.Type.CREATED, created);
+        });
+    }
+
+    private Asset toAsset(AssetRequest request) {
+        Asset asset = new Asset();
+        asset.setAssetName(request.getAssetName());
+        asset.setCategory(masterDataService.resolveCategory(request.getCategoryId()));
+        asset.setStatus(masterDataService.resolveStatus(request.getStatusId()));
+        asset.setPurchaseDate(request.getPurchaseDate());
+        asset.setWarrantyExpiryDate(request.getWarrantyExpiryDate());
+        asset.setAssetImageUrl(request.getAssetImageUrl());
+        return asset;
+    }
+
+    private void validate(AssetRequest request) {
+        Set<ConstraintViolation<AssetRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RowRejectedException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        MasterDataSnapshot masterData = masterDataService.getSnapshot();
+        if (masterData.getCategoryName(request.getCategoryId()) == null) {
+            throw new RowRejectedException("Unknown category ID: " + request.getCategoryId());
+        }
+        if (masterData.getStatusName(request.getStatusId()) == null) {
+            throw new RowRejectedException("Unknown status ID: " + request.getStatusId());
+        }
+    }
+
+    // Parser and driver messages can quote internals, so clients get fixed texts and the log the details
+    private static String describe(Exception e) {
+        if (e instanceof RowRejectedException) {
+            return e.getMessage();
+        }
+        if (e instanceof JsonProcessingException) {
+            return "Not a valid JSON asset object, or a field has the wrong type";
+        }
+        if (e instanceof NumberFormatException) {
+            return "Category and status IDs must be whole numbers";
+        }
+        if (e instanceof DateTimeParseException) {
+            return "Dates must be formatted as yyyy-MM-dd";
+        }
+        return "Row could not be read";
+    }
+
+    // Counts every failure but keeps only the first few messages, so a bad file cannot exhaust the heap
+    private void recordError(BulkImportResponse result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        return columns;
+    }
+
+    private static AssetRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = parseCsvLine(line);
+        AssetRequest request = new AssetRequest();
+        request.setAssetName(column(values, columns, "assetName"));
+        String categoryId = column(values, columns, "categoryId");
+        request.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId));
+        String statusId = column(values, columns, "statusId");
+        request.setStatusId(statusId == null ? null : Long.valueOf(statusId));
+        String purchaseDate = column(values, columns, "purchaseDate");
+        request.setPurchaseDate(purchaseDate == null ? null : LocalDate.parse(purchaseDate));
+        String warrantyExpiryDate = column(values, columns, "warrantyExpiryDate");
+        request.setWarrantyExpiryDate(warrantyExpiryDate == null ? null : LocalDate.parse(warrantyExpiryDate));
+        request.setAssetImageUrl(column(values, columns, "assetImageUrl"));
+        return request;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: commas separate, double quotes quote, "" escapes a quote
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record PendingRow(long line, AssetRequest request) {}
+
+    // A row problem whose message is written for the client
+    private static final class RowRejectedException extends RuntimeException {
+        RowRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * readLine() with a cap. Characters past the cap are read and dropped up to the end of the
+     * line, so a row without a line break cannot grow the heap. Ends lines at \n, \r or \r\n.
+     */
+    private static final class BoundedLineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean tooLong;
+        private boolean skipLineFeed;
+
+        private BoundedLineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        // Null at end of input; a too-long line comes back truncated, flagged by lastLineTooLong()
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            int c = in.read();
+            if (skipLineFeed && c == '\n') {
+                c = in.read();
+            }
+            skipLineFeed = false;
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n' && c != '\r') {
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+                c = in.read();
+            }
+            skipLineFeed = c == '\r';
+            return line.toString();
+        }
+
+        boolean lastLineTooLong() {
+            return tooLong;
+        }
+    }
+}
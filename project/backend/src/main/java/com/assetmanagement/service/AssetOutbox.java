@@ -0,0 +1,38 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.repository.AssetChangeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends asset change events to the outbox inside the caller's transaction, so an event
+ * exists exactly when its asset write committed. The insert is the only cost on the write
+ * path; {@link AssetOutboxDrainer} delivers the events to the sinks afterwards.
+ */
+@Service
+public class AssetOutbox {
+
+    @Autowired
+    private AssetChangeEventRepository eventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AssetChangeEvent.Type type, Long userId, Long assetId,
+                       String assetName, Long categoryId, Long statusId) {
+        eventRepository.insertEvent(type.name(), userId, assetId, assetName, categoryId, statusId, LocalDateTime.now());
+    }
+
+    /**
+     * Records one event per asset with a single statement, copying each asset's current row.
+     * A delete must be recorded before the rows are removed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordForAssets(AssetChangeEvent.Type type, Long userId, List<Long> assetIds) {
+        eventRepository.insertForAssets(type.name(), userId, assetIds, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,146 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.entity.JobCheckpoint;
+import com.assetmanagement.repository.AssetChangeEventRepository;
+import com.assetmanagement.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves events from the asset_outbox table to every {@link AssetEventSink}. Each batch is one
+ * transaction that locks the outbox checkpoint row (so instances take turns), reads the oldest
+ * events, delivers them and deletes them. A sink failure rolls the batch back and the next poll
+ * retries it, so events are delivered oldest first and at least once.
+ */
+@Component
+public class AssetOutboxDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetOutboxDrainer.class);
+
+    static final String JOB_NAME = "asset-outbox";
+
+    @Autowired
+    private AssetChangeEventRepository eventRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private List<AssetEventSink> sinks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:1000}")
+    private int batchSize;
+
+    // Age of the oldest undelivered event as of the last poll
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private DistributionSummary batchSizes;
+    private Timer batchTimer;
+    private final List<Counter> deliveredBySink = new ArrayList<>();
+
+    @PostConstruct
+    public void initMeters() {
+        Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest asset change event not yet delivered to the sinks")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("outbox.batch.size")
+                .description("Events delivered per outbox batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchTimer = Timer.builder("outbox.batch")
+                .description("Time to deliver and delete one outbox batch")
+                .register(meterRegistry);
+        for (AssetEventSink sink : sinks) {
+            deliveredBySink.add(Counter.builder("outbox.events.delivered")
+                    .description("Asset change events delivered, by sink")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // Drains until a batch comes back short, so a backlog is cleared in one tick
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void drain() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int batches = 0;
+        long events = 0;
+        try {
+            int delivered;
+            do {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                delivered = transactionTemplate.execute(status -> drainBatch());
+                if (delivered > 0) {
+                    sample.stop(batchTimer);
+                    batchSizes.record(delivered);
+                    for (Counter counter : deliveredBySink) {
+                        counter.increment(delivered);
+                    }
+                    batches++;
+                    events += delivered;
+                }
+            } while (delivered == batchSize);
+            lagMillis.set(0);
+        } catch (Exception e) {
+            log.error("Outbox drain stopped after {} batches; the failed batch is retried on the next poll",
+                    batches, e);
+            return;
+        }
+        if (batches > 1) {
+            log.info("Outbox drained {} events in {} batches", events, batches);
+        }
+    }
+
+    private int drainBatch() {
+        JobCheckpoint checkpoint = checkpointRepository.lockByJobName(JOB_NAME)
+                .orElseGet(() -> checkpointRepository.save(new JobCheckpoint(JOB_NAME)));
+
+        List<AssetChangeEvent> events = eventRepository.findOldest(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        lagMillis.set(Math.max(0, Duration.between(events.get(0).getOccurredAt(), LocalDateTime.now()).toMillis()));
+
+        for (AssetEventSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Sink " + sink.name() + " failed: " + e.getMessage(), e);
+            }
+        }
+
+        List<Long> ids = events.stream().map(AssetChangeEvent::getId).toList();
+        eventRepository.deleteByIds(ids);
+        checkpoint.setLastKeyId(ids.get(ids.size() - 1));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return events.size();
+    }
+}
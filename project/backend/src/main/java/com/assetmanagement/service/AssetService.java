@@ -2,27 +2,50 @@ package com.assetmanagement.service;
 
 import com.assetmanagement.dto.AssetRequest;
 import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.dto.BulkChangeResponse;
+import com.assetmanagement.dto.CursorPage;
 import com.assetmanagement.entity.Asset;
+import com.assetmanagement.entity.AssetChangeEvent;
 import com.assetmanagement.entity.AssetCategory;
 import com.assetmanagement.entity.AssetStatus;
 import com.assetmanagement.entity.User;
-import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.exception.AssetNotFoundException;
+import com.assetmanagement.exception.AssetVersionConflictException;
 import com.assetmanagement.repository.AssetRepository;
-import com.assetmanagement.repository.AssetStatusRepository;
 import com.assetmanagement.repository.UserRepository;
 import com.assetmanagement.security.UserDetailsImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @Transactional
 public class AssetService {
 
+    private static final Logger log = LoggerFactory.getLogger(AssetService.class);
+
     @Autowired
     private AssetRepository assetRepository;
 
@@ -30,53 +53,135 @@ public class AssetService {
     private UserRepository userRepository;
 
     @Autowired
-    private AssetCategoryRepository categoryRepository;
+    private MasterDataService masterDataService;
 
     @Autowired
-    private AssetStatusRepository statusRepository;
+    private AssetCounterService assetCounterService;
 
-    private User getCurrentUser() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                throw new RuntimeException("User not authenticated");
-            }
-            
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            User user = userRepository.findById(userDetails.getId())
-                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + userDetails.getId()));
-            
-            System.out.println("Current user: " + user.getUsername() + " (ID: " + user.getId() + ")");
-            return user;
-        } catch (Exception e) {
-            System.err.println("Error getting current user: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to get current user: " + e.getMessage());
+    @Autowired
+    private AssetCollectionVersions collectionVersions;
+
+    @Autowired
+    private AssetOutbox outbox;
+
+    @Autowired
+    private AssetChangeBroadcaster changeBroadcaster;
+
+    @Value("${app.bulk-change.max-ids:5000}")
+    private int bulkMaxIds;
+
+    @Value("${app.bulk-change.chunk-size:500}")
+    private int bulkChunkSize;
+
+    private UserDetailsImpl getCurrentUserDetails() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            throw new RuntimeException("User not authenticated");
         }
+        return (UserDetailsImpl) authentication.getPrincipal();
     }
 
+    // The principal already carries the id, so owner-scoped statements need no user lookup
+    private Long getCurrentUserId() {
+        return getCurrentUserDetails().getId();
+    }
+
+    // Listing rows already carry ids; names come from the master data snapshot, not lazy associations
+    private AssetResponse toResponse(Asset asset) {
+        MasterDataSnapshot snapshot = masterDataService.getSnapshot();
+        Long categoryId = asset.getCategory().getId();
+        Long statusId = asset.getStatus().getId();
+        return new AssetResponse(
+                asset.getId(),
+                asset.getUser().getId(),
+                asset.getAssetName(),
+                categoryId,
+                snapshot.getCategoryName(categoryId),
+                statusId,
+                snapshot.getStatusName(statusId),
+                asset.getPurchaseDate(),
+                asset.getWarrantyExpiryDate(),
+                asset.getAssetImageUrl(),
+                asset.getImageHash(),
+                asset.getCreatedAt(),
+                asset.getUpdatedAt(),
+                asset.getVersion());
+    }
+
+    @Timed(value = "assets.service", extraTags = {"operation", "list"})
     @Transactional(readOnly = true)
     public Page<AssetResponse> getUserAssets(Pageable pageable) {
         try {
-            User currentUser = getCurrentUser();
-            Page<Asset> assets = assetRepository.findByUser(currentUser, pageable);
-            return assets.map(AssetResponse::new);
+            return assetRepository.findResponsesByUserId(getCurrentUserId(), pageable);
         } catch (Exception e) {
-            System.err.println("Error fetching user assets: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching user assets", e);
             throw e;
         }
     }
 
-    public AssetResponse createAsset(AssetRequest request) {
+    @Timed(value = "assets.service", extraTags = {"operation", "list-cursor"})
+    @Transactional(readOnly = true)
+    public CursorPage<AssetResponse> getUserAssetsByCursor(String cursor, int size, boolean withCount) {
+        Long currentUserId = getCurrentUserId();
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Asset> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = assetRepository.findFirstKeysetPage(currentUserId, size + 1);
+        } else {
+            KeysetPosition position = decodeCursor(cursor);
+            rows = assetRepository.findKeysetPageAfter(currentUserId, position.createdAt, position.id, size + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Asset last = rows.get(size - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        Long total = withCount ? assetRepository.countByUserId(currentUserId) : null;
+        return new CursorPage<>(rows.stream().map(this::toResponse).toList(), nextCursor, size, total);
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetPosition decodeCursor(String cursor) {
         try {
-            User currentUser = getCurrentUser();
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetPosition(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    record KeysetPosition(LocalDateTime createdAt, Long id) {}
 
-            AssetCategory category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Category not found with ID: " + request.getCategoryId()));
+    @Timed(value = "assets.service", extraTags = {"operation", "search"})
+    @Transactional(readOnly = true)
+    public Page<AssetResponse> searchUserAssets(String query, Pageable pageable) {
+        String term = query.trim();
+        String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return assetRepository.searchRanked(getCurrentUserId(), term, pattern, pageable)
+                .map(this::toResponse);
+    }
+
+    @Timed(value = "assets.service", extraTags = {"operation", "create"})
+    public AssetResponse createAsset(AssetRequest request) {
+        try {
+            // A reference is enough to set the foreign key; the user row is never read
+            Long currentUserId = getCurrentUserId();
+            User currentUser = userRepository.getReferenceById(currentUserId);
 
-            AssetStatus status = statusRepository.findById(request.getStatusId())
-                    .orElseThrow(() -> new RuntimeException("Status not found with ID: " + request.getStatusId()));
+            AssetCategory category = masterDataService.resolveCategory(request.getCategoryId());
+            AssetStatus status = masterDataService.resolveStatus(request.getStatusId());
 
             Asset asset = new Asset();
             asset.setUser(currentUser);
@@ -88,64 +193,269 @@ public class AssetService {
             asset.setAssetImageUrl(request.getAssetImageUrl());
 
             Asset savedAsset = assetRepository.save(asset);
-            System.out.println("Asset saved with ID: " + savedAsset.getId());
+            assetCounterService.apply(currentUserId,
+                    new AssetCounterService.Deltas().added(category.getId(), status.getId()));
+            outbox.record(AssetChangeEvent.Type.CREATED, currentUserId, savedAsset.getId(),
+                    savedAsset.getAssetName(), category.getId(), status.getId());
+            collectionVersions.bumpAfterCommit(currentUserId);
+            changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.CREATED, List.of(savedAsset.getId()));
             return new AssetResponse(savedAsset);
         } catch (Exception e) {
-            System.err.println("Error creating asset: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating asset", e);
             throw new RuntimeException("Failed to create asset: " + e.getMessage());
         }
     }
 
+    @Timed(value = "assets.service", extraTags = {"operation", "update"})
     public AssetResponse updateAsset(Long id, AssetRequest request) {
         try {
-            User currentUser = getCurrentUser();
+            Long currentUserId = getCurrentUserId();
+
+            AssetCategory category = masterDataService.resolveCategory(request.getCategoryId());
+            AssetStatus status = masterDataService.resolveStatus(request.getStatusId());
 
-            Asset asset = assetRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Asset not found with ID: " + id));
+            // One statement writes the row and reports what it was classified as before
+            AssetRepository.Classification previous = assetRepository.updateReturningPrevious(id, currentUserId,
+                            request.getAssetName(), category.getId(), status.getId(), request.getPurchaseDate(),
+                            request.getWarrantyExpiryDate(), request.getAssetImageUrl(), LocalDateTime.now())
+                    .orElseThrow(() -> new AssetNotFoundException(id));
+            assetCounterService.apply(currentUserId, new AssetCounterService.Deltas()
+                    .removed(previous.getCategoryId(), previous.getStatusId())
+                    .added(category.getId(), status.getId()));
+            outbox.record(AssetChangeEvent.Type.UPDATED, currentUserId, id,
+                    request.getAssetName(), category.getId(), status.getId());
+            collectionVersions.bumpAfterCommit(currentUserId);
+            changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.UPDATED, List.of(id));
+
+            return assetRepository.findResponseByIdAndUserId(id, currentUserId)
+                    .orElseThrow(() -> new AssetNotFoundException(id));
+        } catch (AssetNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error updating asset {}", id, e);
+            throw new RuntimeException("Failed to update asset: " + e.getMessage());
+        }
+    }
+
+    @Timed(value = "assets.service", extraTags = {"operation", "get"})
+    @Transactional(readOnly = true)
+    public AssetResponse getAsset(Long id) {
+        return assetRepository.findResponseByIdAndUserId(id, getCurrentUserId())
+                .orElseThrow(() -> new AssetNotFoundException(id));
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396): members present in the patch are set, null clears an
+     * optional field, absent members are left alone. Master data is only resolved for ids that
+     * change, and the UPDATE lists only changed columns. No row lock is taken; when
+     * expectedVersion is given it must be current, and a writer that commits in between is caught
+     * by the version check on flush. A patch that changes nothing writes nothing.
+     */
+    @Timed(value = "assets.service", extraTags = {"operation", "patch"})
+    public AssetResponse patchAsset(Long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Long currentUserId = getCurrentUserId();
+        Asset asset = assetRepository.findByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new AssetNotFoundException(id));
+        if (expectedVersion != null && expectedVersion != asset.getVersion()) {
+            throw new AssetVersionConflictException(id, asset.getVersion());
+        }
 
-            if (!asset.getUser().getId().equals(currentUser.getId())) {
-                throw new RuntimeException("Access denied - asset belongs to different user");
+        Long previousCategoryId = asset.getCategory().getId();
+        Long previousStatusId = asset.getStatus().getId();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            switch (name) {
+                case "assetName" -> {
+                    String assetName = requiredText(name, value);
+                    if (assetName.isBlank()) {
+                        throw new IllegalArgumentException("Asset name is required");
+                    }
+                    asset.setAssetName(assetName);
+                }
+                case "categoryId" -> {
+                    Long categoryId = requiredId(name, value);
+                    if (!categoryId.equals(asset.getCategory().getId())) {
+                        asset.setCategory(masterDataService.resolveCategory(categoryId));
+                    }
+                }
+                case "statusId" -> {
+                    Long statusId = requiredId(name, value);
+                    if (!statusId.equals(asset.getStatus().getId())) {
+                        asset.setStatus(masterDataService.resolveStatus(statusId));
+                    }
+                }
+                case "purchaseDate" -> asset.setPurchaseDate(parseDate(name, required(name, value)));
+                case "warrantyExpiryDate" -> asset.setWarrantyExpiryDate(value.isNull() ? null : parseDate(name, value));
+                case "assetImageUrl" -> asset.setAssetImageUrl(value.isNull() ? null : requiredText(name, value));
+                default -> throw new IllegalArgumentException("Field cannot be patched: " + name);
             }
+        }
 
-            AssetCategory category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Category not found with ID: " + request.getCategoryId()));
+        // Dirty checking decides whether there is anything to write; the version moves only if so
+        long versionBefore = asset.getVersion();
+        try {
+            assetRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new AssetVersionConflictException(id, null);
+        }
+        if (asset.getVersion() == versionBefore) {
+            return toResponse(asset);
+        }
 
-            AssetStatus status = statusRepository.findById(request.getStatusId())
-                    .orElseThrow(() -> new RuntimeException("Status not found with ID: " + request.getStatusId()));
+        Long categoryId = asset.getCategory().getId();
+        Long statusId = asset.getStatus().getId();
+        if (!categoryId.equals(previousCategoryId) || !statusId.equals(previousStatusId)) {
+            assetCounterService.apply(currentUserId, new AssetCounterService.Deltas()
+                    .removed(previousCategoryId, previousStatusId)
+                    .added(categoryId, statusId));
+        }
+        outbox.record(AssetChangeEvent.Type.UPDATED, currentUserId, id, asset.getAssetName(), categoryId, statusId);
+        collectionVersions.bumpAfterCommit(currentUserId);
+        changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.UPDATED, List.of(id));
+        return toResponse(asset);
+    }
 
-            asset.setAssetName(request.getAssetName());
-            asset.setCategory(category);
-            asset.setStatus(status);
-            asset.setPurchaseDate(request.getPurchaseDate());
-            asset.setWarrantyExpiryDate(request.getWarrantyExpiryDate());
-            asset.setAssetImageUrl(request.getAssetImageUrl());
+    private static JsonNode required(String name, JsonNode value) {
+        if (value.isNull()) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        return value;
+    }
 
-            Asset savedAsset = assetRepository.save(asset);
-            return new AssetResponse(savedAsset);
-        } catch (Exception e) {
-            System.err.println("Error updating asset: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to update asset: " + e.getMessage());
+    private static String requiredText(String name, JsonNode value) {
+        if (!required(name, value).isTextual()) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return value.textValue();
+    }
+
+    private static Long requiredId(String name, JsonNode value) {
+        if (!required(name, value).canConvertToExactIntegral() || !value.canConvertToLong()) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+        return value.longValue();
+    }
+
+    private static LocalDate parseDate(String name, JsonNode value) {
+        try {
+            return LocalDate.parse(value.isTextual() ? value.textValue() : "");
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date (yyyy-MM-dd)");
         }
     }
 
+    @Timed(value = "assets.service", extraTags = {"operation", "delete"})
     public void deleteAsset(Long id) {
         try {
-            User currentUser = getCurrentUser();
+            Long currentUserId = getCurrentUserId();
+            AssetRepository.Classification previous = assetRepository.deleteReturningClassification(id, currentUserId)
+                    .orElseThrow(() -> new AssetNotFoundException(id));
+            assetCounterService.apply(currentUserId,
+                    new AssetCounterService.Deltas().removed(previous.getCategoryId(), previous.getStatusId()));
+            outbox.record(AssetChangeEvent.Type.DELETED, currentUserId, id,
+                    null, previous.getCategoryId(), previous.getStatusId());
+            collectionVersions.bumpAfterCommit(currentUserId);
+            changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.DELETED, List.of(id));
+        } catch (AssetNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error deleting asset {}", id, e);
+            throw new RuntimeException("Failed to delete asset: " + e.getMessage());
+        }
+    }
 
-            Asset asset = assetRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Asset not found with ID: " + id));
+    /**
+     * Sets one status on many assets. Per chunk of ids: one locking SELECT for the previous
+     * statuses, one UPDATE and one outbox INSERT ... SELECT; counters are adjusted once at the end.
+     * Assets that already have the status count as affected but are not written.
+     */
+    @Timed(value = "assets.service", extraTags = {"operation", "bulk-status"})
+    public BulkChangeResponse updateStatuses(List<Long> ids, Long statusId) {
+        Long currentUserId = getCurrentUserId();
+        AssetStatus status = masterDataService.resolveStatus(statusId);
+        List<Long> requested = distinctSorted(ids);
+        LocalDateTime now = LocalDateTime.now();
 
-            if (!asset.getUser().getId().equals(currentUser.getId())) {
-                throw new RuntimeException("Access denied - asset belongs to different user");
+        List<Long> affected = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        AssetCounterService.Deltas deltas = new AssetCounterService.Deltas();
+        for (int from = 0; from < requested.size(); from += bulkChunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(from + bulkChunkSize, requested.size()));
+            List<Long> chunkChanged = new ArrayList<>();
+            for (AssetRepository.ClassifiedAsset row : assetRepository.lockClassifications(currentUserId, chunk)) {
+                affected.add(row.getId());
+                if (!row.getStatusId().equals(statusId)) {
+                    chunkChanged.add(row.getId());
+                    deltas.removed(row.getCategoryId(), row.getStatusId()).added(row.getCategoryId(), statusId);
+                }
             }
+            if (!chunkChanged.isEmpty()) {
+                assetRepository.updateStatusByIdsAndUserId(currentUserId, chunkChanged, status, now);
+                outbox.recordForAssets(AssetChangeEvent.Type.UPDATED, currentUserId, chunkChanged);
+                changed.addAll(chunkChanged);
+            }
+        }
 
-            assetRepository.delete(asset);
-        } catch (Exception e) {
-            System.err.println("Error deleting asset: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to delete asset: " + e.getMessage());
+        if (!changed.isEmpty()) {
+            assetCounterService.apply(currentUserId, deltas);
+            collectionVersions.bumpAfterCommit(currentUserId);
+            changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.UPDATED, changed);
+        }
+        return new BulkChangeResponse(affected, notFound(requested, affected));
+    }
+
+    /**
+     * Deletes many assets. Per chunk of ids: one locking SELECT for the counter deltas, one
+     * outbox INSERT ... SELECT and one DELETE; counters are adjusted once at the end.
+     */
+    @Timed(value = "assets.service", extraTags = {"operation", "bulk-delete"})
+    public BulkChangeResponse deleteAssets(List<Long> ids) {
+        Long currentUserId = getCurrentUserId();
+        List<Long> requested = distinctSorted(ids);
+
+        List<Long> affected = new ArrayList<>();
+        AssetCounterService.Deltas deltas = new AssetCounterService.Deltas();
+        for (int from = 0; from < requested.size(); from += bulkChunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(from + bulkChunkSize, requested.size()));
+            List<Long> chunkFound = new ArrayList<>();
+            for (AssetRepository.ClassifiedAsset row : assetRepository.lockClassifications(currentUserId, chunk)) {
+                chunkFound.add(row.getId());
+                deltas.removed(row.getCategoryId(), row.getStatusId());
+            }
+            if (!chunkFound.isEmpty()) {
+                outbox.recordForAssets(AssetChangeEvent.Type.DELETED, currentUserId, chunkFound);
+                assetRepository.deleteByIdsAndUserId(currentUserId, chunkFound);
+                affected.addAll(chunkFound);
+            }
+        }
+
+        if (!affected.isEmpty()) {
+            assetCounterService.apply(currentUserId, deltas);
+            collectionVersions.bumpAfterCommit(currentUserId);
+            changeBroadcaster.publishAfterCommit(currentUserId, AssetChangeEvent.Type.DELETED, affected);
         }
+        return new BulkChangeResponse(affected, notFound(requested, affected));
+    }
+
+    // Sorted so every bulk writer takes row locks in the same order
+    private List<Long> distinctSorted(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(id -> id != null).distinct().sorted().toList();
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("Asset IDs are required");
+        }
+        if (distinct.size() > bulkMaxIds) {
+            throw new IllegalArgumentException("At most " + bulkMaxIds + " assets can be changed at once");
+        }
+        return distinct;
+    }
+
+    private static List<Long> notFound(List<Long> requested, List<Long> affected) {
+        Set<Long> found = new HashSet<>(affected);
+        return requested.stream().filter(id -> !found.contains(id)).toList();
     }
-}
\ No newline at end of file
+}
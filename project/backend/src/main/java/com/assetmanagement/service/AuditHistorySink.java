@@ -0,0 +1,32 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.repository.AssetAuditEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps every event in asset_audit_history. Runs in the drainer's transaction, so history
+ * rows and the outbox delete commit together and are never duplicated.
+ */
+@Component
+@Order(1)
+public class AuditHistorySink implements AssetEventSink {
+
+    @Autowired
+    private AssetAuditEntryRepository auditRepository;
+
+    @Override
+    public String name() {
+        return "audit";
+    }
+
+    @Override
+    public void deliver(List<AssetChangeEvent> events) {
+        auditRepository.copyFromOutbox(events.stream().map(AssetChangeEvent::getId).toList(), LocalDateTime.now());
+    }
+}
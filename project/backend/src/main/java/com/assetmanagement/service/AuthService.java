@@ -5,67 +5,95 @@ import com.assetmanagement.dto.LoginRequest;
 import com.assetmanagement.dto.RegisterRequest;
 import com.assetmanagement.dto.UserResponse;
 import com.assetmanagement.entity.User;
+import com.assetmanagement.exception.DuplicateAccountException;
+import com.assetmanagement.exception.PasswordHashingBusyException;
 import com.assetmanagement.repository.UserRepository;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.PasswordHashingService;
+import com.assetmanagement.security.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Not transactional on purpose: each repository call returns its connection straight away,
+ * so none is held while a password is being hashed.
+ */
 @Service
 public class AuthService {
 
-    @Autowired
-    private UserRepository userRepository;
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserRepository userRepository;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AccountAvailabilityService accountAvailabilityService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Timed(value = "auth.service", extraTags = {"operation", "register"})
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
-        }
-
         User user = new User(
                 request.getUsername(),
-                passwordEncoder.encode(request.getPassword()),
+                passwordHashingService.encode(request.getPassword()),
                 request.getEmail()
         );
 
-        User savedUser = userRepository.save(user);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getUsername());
-        String jwt = jwtUtil.generateToken(userDetails);
+        // One INSERT; the unique constraints decide whether the username and email are free
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateAccount(request);
+        }
+        accountAvailabilityService.registered(savedUser);
+        String jwt = jwtUtil.generateToken(UserDetailsImpl.build(savedUser));
 
         return new AuthResponse(jwt, new UserResponse(savedUser));
     }
 
+    @Timed(value = "auth.service", extraTags = {"operation", "login"})
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        String jwt = jwtUtil.generateToken(userDetails);
+        // The one user SELECT of the login; the token, principal and response are all built from it
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        if (!passwordHashingService.matches(request.getPassword(), user == null ? null : user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
 
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehash(user, request.getPassword());
+        }
 
+        String jwt = jwtUtil.generateToken(UserDetailsImpl.build(user));
         return new AuthResponse(jwt, new UserResponse(user));
     }
+
+    // Only reached on a conflict, so the extra lookup to name the offending field is rare
+    private DuplicateAccountException duplicateAccount(RegisterRequest request) {
+        if (userRepository.existsByUsername(request.getUsername())) {
+            return new DuplicateAccountException("username", "Username is already taken!");
+        }
+        return new DuplicateAccountException("email", "Email is already in use!");
+    }
+
+    // Best effort: the login has already succeeded, and a skipped rehash is retried on the next one
+    private void rehash(User user, String rawPassword) {
+        try {
+            userRepository.updatePassword(user.getId(), passwordHashingService.encode(rawPassword));
+            log.info("Rehashed password of user {} at the configured BCrypt strength", user.getId());
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Skipped rehash of user {}: {}", user.getId(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Rehash of user {} failed: {}", user.getId(), e.getMessage());
+        }
+    }
 }
\ No newline at end of file
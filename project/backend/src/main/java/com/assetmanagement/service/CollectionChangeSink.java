@@ -0,0 +1,40 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.repository.AssetCollectionChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes which users' collections changed to asset_collection_changes, where every instance's
+ * {@link AssetCollectionVersions} picks them up. Runs in the drainer's transaction; rows older
+ * than the retention are pruned in the same transaction.
+ */
+@Component
+@Order(3)
+public class CollectionChangeSink implements AssetEventSink {
+
+    @Autowired
+    private AssetCollectionChangeRepository changeRepository;
+
+    @Value("${app.asset-list-etag.change-retention:PT10M}")
+    private Duration retention;
+
+    @Override
+    public String name() {
+        return "collection-changes";
+    }
+
+    @Override
+    public void deliver(List<AssetChangeEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        changeRepository.insertForEvents(events.stream().map(AssetChangeEvent::getId).toList(), now);
+        changeRepository.deleteChangedBefore(now.minus(retention));
+    }
+}
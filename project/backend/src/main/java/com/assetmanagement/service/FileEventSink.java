@@ -0,0 +1,91 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as NDJSON to a local file that can be replayed into another system. Each
+ * batch is encoded in memory and written with one call. Runs after the audit sink, so a failed
+ * write rolls back the batch; a batch written just before a failed commit is written again,
+ * which replay tools handle by skipping ids they have seen.
+ */
+@Component
+@Order(2)
+public class FileEventSink implements AssetEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(FileEventSink.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outbox.file-sink.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.file-sink.path:./data/asset-events.ndjson}")
+    private Path path;
+
+    @Value("${app.outbox.file-sink.fsync:false}")
+    private boolean fsync;
+
+    private FileChannel channel;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        log.info("Asset events are appended to {}", path.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(List<AssetChangeEvent> events) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 160);
+        for (AssetChangeEvent event : events) {
+            objectMapper.writeValue(buffer, event);
+            buffer.write('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+}
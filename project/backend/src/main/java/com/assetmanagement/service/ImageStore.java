@@ -0,0 +1,261 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.exception.ImageRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Content-addressed image files on local disk: each upload is stored once under the SHA-256
+ * of its bytes, as {@code <dir>/ab/cd/<hash>}, with an optional {@code <hash>.thumb.jpg}.
+ * Uploads stream through a fixed buffer into a temp file while being hashed and size-checked,
+ * and identical uploads end up as one file. Files are never rewritten, so they can be cached forever.
+ */
+@Service
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    public record StoredImage(String hash, String contentType, long size) {}
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.images.dir:./data/images}")
+    private Path root;
+
+    @Value("${app.images.max-size:10MB}")
+    private DataSize maxSize;
+
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${app.images.thumbnail-size:256}")
+    private int thumbnailSize;
+
+    @Value("${app.images.thumbnail-threads:2}")
+    private int thumbnailThreads;
+
+    @Value("${app.images.thumbnail-queue:200}")
+    private int thumbnailQueue;
+
+    private ThreadPoolExecutor thumbnailExecutor;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(root.resolve("tmp"));
+        AtomicInteger sequence = new AtomicInteger();
+        thumbnailExecutor = new ThreadPoolExecutor(thumbnailThreads, thumbnailThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, thumbnailExecutor, "thumbnail");
+        log.info("Image store at {}", root.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    /**
+     * Streams the body to disk, rejecting it as soon as it passes the size limit or its first
+     * bytes are not a supported image, and queues a thumbnail for a new file.
+     */
+    public StoredImage store(InputStream body, long declaredLength) throws IOException {
+        if (declaredLength > maxSize.toBytes()) {
+            throw tooLarge();
+        }
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        try {
+            String contentType = null;
+            long size = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = body.readNBytes(buffer, 0, buffer.length)) > 0) {
+                    if (contentType == null) {
+                        contentType = sniffContentType(buffer, read);
+                    }
+                    size += read;
+                    if (size > maxSize.toBytes()) {
+                        throw tooLarge();
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+            }
+            if (size == 0) {
+                throw new ImageRejectedException(HttpStatus.BAD_REQUEST, "Empty upload");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = original(hash);
+            if (Files.exists(target)) {
+                log.debug("Image {} already stored; upload deduplicated", hash);
+                if (!Files.exists(thumbnail(hash))) {
+                    scheduleThumbnail(hash);
+                }
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+                scheduleThumbnail(hash);
+            }
+            return new StoredImage(hash, contentType, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path original(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public Path thumbnail(String hash) {
+        return original(hash).resolveSibling(hash + ".thumb.jpg");
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same bytes won; its file is identical
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void scheduleThumbnail(String hash) {
+        try {
+            thumbnailExecutor.execute(() -> writeThumbnail(hash));
+        } catch (RejectedExecutionException e) {
+            // The original is served in its place until the image is uploaded again
+            log.warn("Thumbnail queue full; skipped thumbnail for image {}", hash);
+        }
+    }
+
+    private void writeThumbnail(String hash) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original(hash).toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.debug("No decoder for image {}; no thumbnail", hash);
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Image {} is {}x{}; too large to thumbnail", hash, width, height);
+                    return;
+                }
+                // Decode only every n-th pixel, so a large photo never needs a full-size raster
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.min(width, height) / (thumbnailSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage source = reader.read(0, param);
+                // Written aside and renamed, so a reader never sees a half-written thumbnail
+                Path part = thumbnail(hash).resolveSibling(hash + ".thumb.part");
+                ImageIO.write(scale(source), "jpg", part.toFile());
+                Files.move(part, thumbnail(hash), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            log.warn("Thumbnail for image {} failed: {}", hash, e.getMessage());
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        double factor = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            // JPEG has no alpha channel, so transparent areas become white
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // Decided from the leading bytes, never from the client's Content-Type
+    private static String sniffContentType(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xD8 && (head[2] & 0xff) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "image/gif";
+        }
+        if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        throw new ImageRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only JPEG, PNG, GIF and WebP images are accepted");
+    }
+
+    private ImageRejectedException tooLarge() {
+        return new ImageRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "Images are limited to " + maxSize);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.assetmanagement.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * JPA listener on categories and statuses that refreshes the master data snapshot.
+ * Instantiated by Hibernate through Spring's bean container while the EntityManagerFactory
+ * is still being built, so the service (which needs repositories) is injected lazily.
+ */
+public class MasterDataChangeListener {
+
+    @Autowired
+    @Lazy
+    private MasterDataService masterDataService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        masterDataService.invalidate();
+    }
+}
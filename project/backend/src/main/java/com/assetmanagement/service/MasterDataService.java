@@ -1,50 +1,184 @@
 package com.assetmanagement.service;
 
+import com.assetmanagement.config.BinaryEncodingConfig;
+import com.assetmanagement.dto.AssetResponse.CategoryResponse;
+import com.assetmanagement.dto.AssetResponse.StatusResponse;
 import com.assetmanagement.entity.AssetCategory;
 import com.assetmanagement.entity.AssetStatus;
 import com.assetmanagement.repository.AssetCategoryRepository;
 import com.assetmanagement.repository.AssetStatusRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Serves categories and statuses from an in-memory {@link MasterDataSnapshot}.
+ * The snapshot is loaded on first use and rebuilt after any committed change to either table.
+ * Not transactional on purpose: snapshot reads must never borrow a pooled connection.
+ */
 @Service
-@Transactional
 public class MasterDataService {
 
+    private static final Logger log = LoggerFactory.getLogger(MasterDataService.class);
+
     @Autowired
     private AssetCategoryRepository categoryRepository;
 
     @Autowired
     private AssetStatusRepository statusRepository;
 
-    @Transactional(readOnly = true)
-    public List<AssetCategory> getAllCategories() {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BinaryEncodingConfig binaryEncodings;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    // A lock rather than synchronized: the load does JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Bumped by every invalidation, so a load that overlapped one is not left installed
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile MasterDataSnapshot snapshot;
+
+    public MasterDataSnapshot getSnapshot() {
+        MasterDataSnapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    long loadGeneration = generation.get();
+                    current = loadSnapshot();
+                    snapshot = current;
+                    if (generation.get() != loadGeneration) {
+                        // Invalidated mid-load: the rows read may predate the change
+                        snapshot = null;
+                    }
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns a detached category carrying the cached id and name. It can be assigned to an
+     * asset association without a SELECT, and read back without initializing a proxy.
+     */
+    public AssetCategory resolveCategory(Long id) {
+        String name = getSnapshot().getCategoryName(id);
+        if (name == null) {
+            throw new RuntimeException("Category not found with ID: " + id);
+        }
+        AssetCategory category = new AssetCategory(name);
+        category.setId(id);
+        return category;
+    }
+
+    public AssetStatus resolveStatus(Long id) {
+        String name = getSnapshot().getStatusName(id);
+        if (name == null) {
+            throw new RuntimeException("Status not found with ID: " + id);
+        }
+        AssetStatus status = new AssetStatus(name);
+        status.setId(id);
+        return status;
+    }
+
+    /**
+     * Drops the snapshot once the current transaction commits (or immediately outside one),
+     * so the next read reloads it from the database.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discardSnapshot();
+                }
+            });
+        } else {
+            discardSnapshot();
+        }
+    }
+
+    private void discardSnapshot() {
+        // Bump before clearing: a loader that installs after this clear still sees the new generation
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private MasterDataSnapshot loadSnapshot() {
         try {
-            System.out.println("Service: Fetching all categories from database");
-            List<AssetCategory> categories = categoryRepository.findAll();
-            System.out.println("Service: Retrieved " + categories.size() + " categories");
-            return categories;
-        } catch (Exception e) {
-            System.err.println("Service error fetching categories: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+            log.debug("Loading master data snapshot from database");
+            Map<Long, String> categoryNames = new LinkedHashMap<>();
+            for (AssetCategory category : categoryRepository.findAll(Sort.by("id"))) {
+                categoryNames.put(category.getId(), category.getCategoryName());
+            }
+            Map<Long, String> statusNames = new LinkedHashMap<>();
+            for (AssetStatus status : statusRepository.findAll(Sort.by("id"))) {
+                statusNames.put(status.getId(), status.getStatusName());
+            }
+
+            List<CategoryResponse> categories = categoryNames.entrySet().stream()
+                    .map(e -> new CategoryResponse(e.getKey(), e.getValue()))
+                    .toList();
+            List<StatusResponse> statuses = statusNames.entrySet().stream()
+                    .map(e -> new StatusResponse(e.getKey(), e.getValue()))
+                    .toList();
+
+            MasterDataSnapshot loaded = new MasterDataSnapshot(
+                    versions.incrementAndGet(),
+                    categoryNames,
+                    statusNames,
+                    encode(categories),
+                    encode(statuses));
+            log.info("Master data snapshot v{} holds {} categories and {} statuses",
+                    loaded.getVersion(), categoryNames.size(), statusNames.size());
+            return loaded;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize master data", e);
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<AssetStatus> getAllStatuses() {
+    private Map<MediaType, MasterDataSnapshot.Body> encode(Object value) throws JsonProcessingException {
+        Map<MediaType, MasterDataSnapshot.Body> bodies = new LinkedHashMap<>();
+        bodies.put(MediaType.APPLICATION_JSON, body(objectMapper.writeValueAsBytes(value)));
+        bodies.put(BinaryEncodingConfig.APPLICATION_SMILE, body(binaryEncodings.getSmileMapper().writeValueAsBytes(value)));
+        bodies.put(MediaType.APPLICATION_CBOR, body(binaryEncodings.getCborMapper().writeValueAsBytes(value)));
+        return bodies;
+    }
+
+    private static MasterDataSnapshot.Body body(byte[] bytes) {
+        return new MasterDataSnapshot.Body(bytes, etag(bytes));
+    }
+
+    private static String etag(byte[] body) {
         try {
-            System.out.println("Service: Fetching all statuses from database");
-            List<AssetStatus> statuses = statusRepository.findAll();
-            System.out.println("Service: Retrieved " + statuses.size() + " statuses");
-            return statuses;
-        } catch (Exception e) {
-            System.err.println("Service error fetching statuses: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.assetmanagement.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of categories and statuses as loaded at one point in time.
+ * The bodies for /api/categories and /api/statuses are serialized once per supported
+ * encoding and carry strong ETags derived from their content, so they survive restarts unchanged.
+ */
+public final class MasterDataSnapshot {
+
+    private final long version;
+    private final Map<Long, String> categoryNames;
+    private final Map<Long, String> statusNames;
+    private final Map<MediaType, Body> categoryBodies;
+    private final Map<MediaType, Body> statusBodies;
+    private final String contentTag;
+
+    // Callers must not modify the body arrays; they are shared by every request
+    public record Body(byte[] bytes, String etag) {}
+
+    MasterDataSnapshot(long version,
+                       Map<Long, String> categoryNames,
+                       Map<Long, String> statusNames,
+                       Map<MediaType, Body> categoryBodies,
+                       Map<MediaType, Body> statusBodies) {
+        this.version = version;
+        // Insertion order is kept, so iteration follows id order like the JSON bodies
+        this.categoryNames = Collections.unmodifiableMap(new LinkedHashMap<>(categoryNames));
+        this.statusNames = Collections.unmodifiableMap(new LinkedHashMap<>(statusNames));
+        this.categoryBodies = Map.copyOf(categoryBodies);
+        this.statusBodies = Map.copyOf(statusBodies);
+        this.contentTag = unquote(categoryBodies.get(MediaType.APPLICATION_JSON).etag())
+                + unquote(statusBodies.get(MediaType.APPLICATION_JSON).etag());
+    }
+
+    private static String unquote(String etag) {
+        return etag.substring(1, etag.length() - 1);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Hex digest of the category and status content. Unlike {@link #getVersion()}, which counts
+     * loads in this process, it is the same on every instance holding the same rows, so it can
+     * go into ETags that other instances validate.
+     */
+    public String getContentTag() {
+        return contentTag;
+    }
+
+    public String getCategoryName(Long id) {
+        return id == null ? null : categoryNames.get(id);
+    }
+
+    public String getStatusName(Long id) {
+        return id == null ? null : statusNames.get(id);
+    }
+
+    public Map<Long, String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    public Map<Long, String> getStatusNames() {
+        return statusNames;
+    }
+
+    public Body getCategories(MediaType contentType) {
+        return categoryBodies.get(contentType);
+    }
+
+    public Body getStatuses(MediaType contentType) {
+        return statusBodies.get(contentType);
+    }
+}
@@ -0,0 +1,162 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.WarrantyScanRow;
+import com.assetmanagement.entity.JobCheckpoint;
+import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.JobCheckpointRepository;
+import com.assetmanagement.repository.WarrantyNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a {@link com.assetmanagement.entity.WarrantyNotification} when an asset's warranty
+ * comes within one of the configured windows (30, 7 and 1 days by default).
+ *
+ * A run for day D notifies, per window W, the assets whose warranty expires in
+ * (previous run + W, D + W], so each threshold crossing is reported once, including days
+ * the job did not run. Each window is walked in (warranty_expiry_date, id) keyset chunks;
+ * every chunk is its own transaction that inserts the notifications and advances the
+ * checkpoint together, so a crash loses at most one uncommitted chunk and the next tick
+ * resumes from there.
+ */
+@Component
+public class WarrantyExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(WarrantyExpiryJob.class);
+
+    static final String JOB_NAME = "warranty-expiry";
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private WarrantyNotificationRepository notificationRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.warranty-scan.windows-days:30,7,1}")
+    private int[] windowsDays;
+
+    @Value("${app.warranty-scan.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.warranty-scan.max-catch-up-days:7}")
+    private int maxCatchUpDays;
+
+    // Ticks often; a tick finds nothing to do once today's run has completed
+    @Scheduled(initialDelayString = "${app.warranty-scan.initial-delay:PT1M}",
+               fixedDelayString = "${app.warranty-scan.interval:PT1H}")
+    public void scan() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDate today = LocalDate.now();
+        int chunks = 0;
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(today)))) {
+                chunks++;
+            }
+        } catch (Exception e) {
+            log.error("Warranty scan stopped after {} chunks; it resumes from the checkpoint on the next tick",
+                    chunks, e);
+            return;
+        }
+        if (chunks > 0) {
+            log.info("Warranty scan for {} finished in {} chunks", today, chunks);
+        }
+    }
+
+    /**
+     * Processes one step of the current run under the checkpoint row lock.
+     * Returns false when there is nothing left to do today.
+     */
+    private boolean processChunk(LocalDate today) {
+        JobCheckpoint checkpoint = checkpointRepository.lockByJobName(JOB_NAME)
+                .orElseGet(() -> checkpointRepository.save(new JobCheckpoint(JOB_NAME)));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+
+        if (checkpoint.getRunDate() == null) {
+            if (today.equals(checkpoint.getLastCompletedRunDate())) {
+                return false;
+            }
+            checkpoint.setRunDate(today);
+            moveToWindow(checkpoint, windows()[0]);
+            return true;
+        }
+
+        LocalDate runDate = checkpoint.getRunDate();
+        Integer window = checkpoint.getWindowDays();
+        if (window == null) {
+            // Every window of this run is done
+            checkpoint.setLastCompletedRunDate(runDate);
+            checkpoint.setRunDate(null);
+            return true;
+        }
+
+        LocalDate previousRun = checkpoint.getLastCompletedRunDate();
+        if (previousRun == null) {
+            previousRun = runDate.minusDays(1);
+        } else if (previousRun.isBefore(runDate.minusDays(maxCatchUpDays))) {
+            previousRun = runDate.minusDays(maxCatchUpDays);
+        }
+        LocalDate from = previousRun.plusDays(window);
+        LocalDate to = runDate.plusDays(window);
+
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        List<WarrantyScanRow> rows = checkpoint.getLastKeyId() == null
+                ? assetRepository.findWarrantyScanFirst(from, to, chunk)
+                : assetRepository.findWarrantyScanAfter(from, to,
+                        checkpoint.getLastKeyDate(), checkpoint.getLastKeyId(), chunk);
+
+        if (rows.isEmpty()) {
+            moveToWindow(checkpoint, nextWindow(window));
+            return true;
+        }
+
+        int inserted = notificationRepository.insertForAssets(
+                rows.stream().map(WarrantyScanRow::id).toList(), window, LocalDateTime.now());
+        WarrantyScanRow last = rows.get(rows.size() - 1);
+        checkpoint.setLastKeyDate(last.warrantyExpiryDate());
+        checkpoint.setLastKeyId(last.id());
+        log.debug("Warranty scan {}d window: {} assets, {} new notifications up to {}",
+                window, rows.size(), inserted, last.warrantyExpiryDate());
+        return true;
+    }
+
+    private static void moveToWindow(JobCheckpoint checkpoint, Integer window) {
+        checkpoint.setWindowDays(window);
+        checkpoint.setLastKeyDate(null);
+        checkpoint.setLastKeyId(null);
+    }
+
+    private int[] windows() {
+        return Arrays.stream(windowsDays).boxed()
+                .sorted((a, b) -> b - a)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // Windows are scanned widest first; a checkpoint written under an older config still finds its successor
+    private Integer nextWindow(int current) {
+        for (int window : windows()) {
+            if (window < current) {
+                return window;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.WarrantyNotification;
+import com.assetmanagement.repository.WarrantyNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the warranty notifications that {@link WarrantyExpiryJob} writes.
+ */
+@Service
+public class WarrantyNotificationService {
+
+    @Autowired
+    private WarrantyNotificationRepository notificationRepository;
+
+    // Newest first, served by idx_warranty_notifications_user_created
+    @Transactional(readOnly = true)
+    public Page<WarrantyNotification> getNotifications(Long userId, int page, int size) {
+        Sort sort = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+        return notificationRepository.findByUserId(userId, PageRequest.of(page, size, sort));
+    }
+}
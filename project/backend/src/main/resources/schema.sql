@@ -0,0 +1,14 @@
+-- Runs before Hibernate starts (spring.sql.init), so it must tolerate a database where the
+-- tables do not exist yet. Every statement has to be idempotent.
+
+-- Asset ids come from a pooled sequence (allocationSize = 50) so inserts can be JDBC-batched.
+-- Databases created with BIGSERIAL still have an increment of 1; align it before Hibernate validates.
+ALTER SEQUENCE IF EXISTS assets_id_seq INCREMENT BY 50;
+
+-- Outbox ids must follow write order (the drainer and the file replay go by id), so they are not
+-- pooled. Databases created while the outbox used allocationSize = 50 still increment by 50.
+ALTER SEQUENCE IF EXISTS asset_outbox_id_seq INCREMENT BY 1;
+
+-- Optimistic-lock column for PATCH /api/assets/{id}. ddl-auto cannot add a NOT NULL column to a
+-- table that already has rows, so existing assets start at version 0 here.
+ALTER TABLE IF EXISTS assets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
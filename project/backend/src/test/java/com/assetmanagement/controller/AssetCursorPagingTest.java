@@ -0,0 +1,118 @@
+package com.assetmanagement.controller;
+
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AssetCursorPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssetStatusRepository statusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void register() throws Exception {
+        String name = "k" + UUID.randomUUID().toString().substring(0, 12);
+        MvcResult registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = JsonPath.read(registered.getResponse().getContentAsString(), "$.token");
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() throws Exception {
+        for (String cursor : List.of("not base64!", "Z2FyYmFnZQ", "MjAyNC0wMS0xNVQxMDozMHxhYmM")) {
+            mockMvc.perform(authorized(get("/api/assets").param("cursor", cursor)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void pagesAreStableWhenRowsShareCreatedAt() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(createAsset("Tied " + i));
+        }
+        // Bulk imports write many rows within one clock tick; force every row onto the same instant
+        Timestamp tied = Timestamp.valueOf(LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_456_000));
+        for (Long id : ids) {
+            jdbcTemplate.update("UPDATE assets SET created_at = ? WHERE id = ?", tied, id);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            String body = mockMvc.perform(authorized(get("/api/assets")
+                            .param("cursor", cursor)
+                            .param("size", "3")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> pageIds = JsonPath.read(body, "$.content[*].id");
+            pageIds.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(ids.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    private long createAsset(String assetName) throws Exception {
+        Long categoryId = categoryRepository.findAll(Sort.by("id")).stream().map(AssetCategory::getId).findFirst().orElseThrow();
+        Long statusId = statusRepository.findAll(Sort.by("id")).stream().map(AssetStatus::getId).findFirst().orElseThrow();
+        MvcResult created = mockMvc.perform(authorized(post("/api/assets"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assetName\":\"" + assetName + "\",\"categoryId\":" + categoryId
+                                + ",\"statusId\":" + statusId + ",\"purchaseDate\":\"2024-01-15\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
@@ -0,0 +1,171 @@
+package com.assetmanagement.controller;
+
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AssetPatchTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.valueOf("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssetStatusRepository statusRepository;
+
+    private String token;
+    private long assetId;
+
+    @BeforeEach
+    void createAsset() throws Exception {
+        String name = "p" + UUID.randomUUID().toString().substring(0, 12);
+        MvcResult registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = JsonPath.read(registered.getResponse().getContentAsString(), "$.token");
+
+        Long categoryId = categoryRepository.findAll(Sort.by("id")).stream().map(AssetCategory::getId).findFirst().orElseThrow();
+        Long statusId = statusRepository.findAll(Sort.by("id")).stream().map(AssetStatus::getId).findFirst().orElseThrow();
+        MvcResult created = mockMvc.perform(authorized(post("/api/assets"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assetName\":\"Laptop\",\"categoryId\":" + categoryId + ",\"statusId\":" + statusId
+                                + ",\"purchaseDate\":\"2024-01-15\",\"warrantyExpiryDate\":\"2026-01-15\""
+                                + ",\"assetImageUrl\":\"https://example.com/laptop.png\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assetId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    @Test
+    void nullClearsAFieldAndAbsentFieldsAreKept() throws Exception {
+        String etag = currentETag();
+
+        patchAsset("{\"warrantyExpiryDate\":null}", etag)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"1-")))
+                .andExpect(jsonPath("$.warrantyExpiryDate").doesNotExist())
+                .andExpect(jsonPath("$.assetName").value("Laptop"))
+                .andExpect(jsonPath("$.purchaseDate").value("2024-01-15"))
+                .andExpect(jsonPath("$.assetImageUrl").value("https://example.com/laptop.png"));
+    }
+
+    @Test
+    void nullForARequiredFieldIsRejected() throws Exception {
+        patchAsset("{\"assetName\":null}", currentETag())
+                .andExpect(status().isBadRequest());
+        patchAsset("{\"serialNumber\":\"X1\"}", currentETag())
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(authorized(get("/api/assets/" + assetId)))
+                .andExpect(jsonPath("$.assetName").value("Laptop"))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    void missingIfMatchIsRejected() throws Exception {
+        mockMvc.perform(authorized(patch("/api/assets/" + assetId))
+                        .contentType(MERGE_PATCH)
+                        .content("{\"assetName\":\"Renamed\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        mockMvc.perform(authorized(get("/api/assets/" + assetId)))
+                .andExpect(jsonPath("$.assetName").value("Laptop"));
+    }
+
+    @Test
+    void weakOrMalformedIfMatchIsRejected() throws Exception {
+        String etag = currentETag();
+
+        patchAsset("{\"assetName\":\"Renamed\"}", "W/" + etag).andExpect(status().isPreconditionFailed());
+        patchAsset("{\"assetName\":\"Renamed\"}", "0").andExpect(status().isPreconditionFailed());
+        patchAsset("{\"assetName\":\"Renamed\"}", "\"abc\"").andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(authorized(get("/api/assets/" + assetId)))
+                .andExpect(jsonPath("$.assetName").value("Laptop"));
+    }
+
+    @Test
+    void staleVersionGetsPreconditionFailedWithTheCurrentTag() throws Exception {
+        String stale = currentETag();
+        String current = patchAsset("{\"assetName\":\"First edit\"}", stale)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        patchAsset("{\"assetName\":\"Second edit\"}", stale)
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, current));
+
+        mockMvc.perform(authorized(get("/api/assets/" + assetId)))
+                .andExpect(jsonPath("$.assetName").value("First edit"));
+    }
+
+    @Test
+    void wildcardOverwritesAnyVersion() throws Exception {
+        patchAsset("{\"assetName\":\"First edit\"}", currentETag()).andExpect(status().isOk());
+
+        patchAsset("{\"assetName\":\"Forced\"}", "*")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assetName").value("Forced"))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void emptyPatchKeepsTheVersion() throws Exception {
+        String etag = currentETag();
+
+        patchAsset("{}", etag)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(authorized(get("/api/assets/" + assetId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions patchAsset(String body, String ifMatch) throws Exception {
+        return mockMvc.perform(authorized(patch("/api/assets/" + assetId))
+                .contentType(MERGE_PATCH)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .content(body));
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
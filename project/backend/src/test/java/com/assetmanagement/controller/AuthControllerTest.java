@@ -0,0 +1,55 @@
+package com.assetmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void duplicateUsernameIsAConflict() throws Exception {
+        String name = uniqueName();
+        register(name, name + "@example.com").andExpect(status().isOk());
+
+        register(name, "other-" + name + "@example.com")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("username"));
+    }
+
+    @Test
+    void duplicateEmailIsAConflict() throws Exception {
+        String name = uniqueName();
+        register(name, name + "@example.com").andExpect(status().isOk());
+
+        register(uniqueName(), name + "@example.com")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("email"));
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"secret123\"}"));
+    }
+
+    private static String uniqueName() {
+        return "r" + UUID.randomUUID().toString().substring(0, 12);
+    }
+}
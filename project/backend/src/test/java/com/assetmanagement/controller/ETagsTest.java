@@ -0,0 +1,55 @@
+package com.assetmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void ifMatchVersionIsReadFromIssuedTagsAndBareVersions() {
+        assertThat(ETags.versionFromIfMatch("\"3-0123abcd-json\"")).isEqualTo(3L);
+        assertThat(ETags.versionFromIfMatch(" \"3\" ")).isEqualTo(3L);
+        assertThat(ETags.versionFromIfMatch("\"0\"")).isEqualTo(0L);
+    }
+
+    @Test
+    void wildcardAcceptsAnyVersion() {
+        assertThat(ETags.versionFromIfMatch("*")).isNull();
+        assertThat(ETags.versionFromIfMatch(" * ")).isNull();
+    }
+
+    @Test
+    void weakOrMalformedIfMatchNeverMatches() {
+        assertThat(ETags.versionFromIfMatch("W/\"3\"")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("3")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("\"\"")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("\"abc\"")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("\"-3\"")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("\"3\", \"4\"")).isEqualTo(-1L);
+        assertThat(ETags.versionFromIfMatch("\"99999999999999999999\"")).isEqualTo(-1L);
+    }
+
+    @Test
+    void assetTagsDifferByVersionMasterDataAndEncoding() {
+        String json = ETags.forAsset(3, "abc", MediaType.APPLICATION_JSON);
+
+        assertThat(json).isEqualTo("\"3-abc-json\"");
+        assertThat(ETags.forAsset(4, "abc", MediaType.APPLICATION_JSON)).isNotEqualTo(json);
+        assertThat(ETags.forAsset(3, "def", MediaType.APPLICATION_JSON)).isNotEqualTo(json);
+        assertThat(ETags.forAsset(3, "abc", MediaType.APPLICATION_CBOR)).isNotEqualTo(json);
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = "W/\"1-2-3\"";
+
+        assertThat(ETags.matches("W/\"1-2-3\"", etag)).isTrue();
+        assertThat(ETags.matches("\"1-2-3\"", etag)).isTrue();
+        assertThat(ETags.matches("\"x\", W/\"1-2-3\"", etag)).isTrue();
+        assertThat(ETags.matches("*", etag)).isTrue();
+        assertThat(ETags.matches("\"1-2-4\"", etag)).isFalse();
+        assertThat(ETags.matches(null, etag)).isFalse();
+    }
+}
@@ -0,0 +1,38 @@
+package com.assetmanagement.metrics;
+
+import com.assetmanagement.repository.AssetCategoryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureObservability
+class HibernateMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusRegistry;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Test
+    void entityLoadsAreExportedToPrometheus() {
+        assertThat(categoryRepository.findAll()).isNotEmpty();
+
+        FunctionCounter loads = meterRegistry.find("hibernate.entities.loads").functionCounter();
+        assertThat(loads).isNotNull();
+        assertThat(loads.count()).isPositive();
+        assertThat(prometheusRegistry.scrape()).contains("hibernate_entities_loads_total");
+    }
+}
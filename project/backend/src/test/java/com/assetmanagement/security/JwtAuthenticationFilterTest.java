@@ -0,0 +1,148 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.entity.User;
+import com.assetmanagement.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VerifiedPrincipalCache principalCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cachedPrincipalIsReused() throws Exception {
+        String token = register(uniqueName());
+        double verified = verifications("verified");
+        double hits = verifications("cache_hit");
+
+        listAssets(token).andExpect(status().isOk());
+        listAssets(token).andExpect(status().isOk());
+        listAssets(token).andExpect(status().isOk());
+
+        assertThat(verifications("verified") - verified).isEqualTo(1);
+        assertThat(verifications("cache_hit") - hits).isEqualTo(2);
+    }
+
+    @Test
+    void userUpdateRevokesOlderTokensAtOnce() throws Exception {
+        String name = uniqueName();
+        String token = register(name);
+        listAssets(token).andExpect(status().isOk());
+
+        // The cutoff has second precision, like iat; an update in the token's own second keeps it valid
+        awaitNextSecond();
+        User user = userRepository.findByUsername(name).orElseThrow();
+        user.setEmail("changed-" + name + "@example.com");
+        userRepository.save(user);
+
+        listAssets(token).andExpect(status().isUnauthorized());
+        listAssets(login(name)).andExpect(status().isOk());
+    }
+
+    @Test
+    void revocationFromAnotherInstanceAppliesOnceTheCachedPrincipalIsGone() throws Exception {
+        String name = uniqueName();
+        String token = register(name);
+        listAssets(token).andExpect(status().isOk());
+        Long userId = userRepository.findByUsername(name).orElseThrow().getId();
+
+        // Written the way another instance's update lands here: only the row changes, no listener runs
+        jdbcTemplate.update("UPDATE users SET tokens_valid_after = ? WHERE id = ?",
+                Timestamp.from(Instant.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS)), userId);
+        listAssets(token).andExpect(status().isOk());
+
+        // Stands in for the TTL running out
+        principalCache.invalidateUser(userId);
+        listAssets(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rehashOnLoginKeepsExistingSessions() throws Exception {
+        String name = uniqueName();
+        String token = register(name);
+        Long userId = userRepository.findByUsername(name).orElseThrow().getId();
+        String weakHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", weakHash, userId);
+
+        awaitNextSecond();
+        login(name);
+
+        User user = userRepository.findById(userId).orElseThrow();
+        assertThat(user.getPassword()).isNotEqualTo(weakHash).doesNotStartWith("$2a$04$");
+        assertThat(user.getTokensValidAfter()).isNull();
+        // First use of the token, so the revocation check reads the row instead of the cache
+        listAssets(token).andExpect(status().isOk());
+    }
+
+    private ResultActions listAssets(String token) throws Exception {
+        return mockMvc.perform(get("/api/assets").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private String register(String name) throws Exception {
+        return token(mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.com\",\"password\":\"" + PASSWORD + "\"}")));
+    }
+
+    private String login(String name) throws Exception {
+        return token(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + name + "\",\"password\":\"" + PASSWORD + "\"}")));
+    }
+
+    private static String token(ResultActions result) throws Exception {
+        String body = result.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.token");
+    }
+
+    private double verifications(String result) {
+        return meterRegistry.get("jwt.verifications").tag("result", result).counter().count();
+    }
+
+    private static void awaitNextSecond() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+    }
+
+    private static String uniqueName() {
+        return "j" + UUID.randomUUID().toString().substring(0, 12);
+    }
+}
@@ -0,0 +1,107 @@
+package com.assetmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        // One tracked address, so every other address goes to the overflow stripes
+        ReflectionTestUtils.setField(filter, "maxKeys", 1);
+        ReflectionTestUtils.setField(filter, "authPrefixes", new String[] {"/api/auth/login"});
+        ReflectionTestUtils.setField(filter, "authPerIp", "2/PT1M");
+        ReflectionTestUtils.setField(filter, "authPerUser", "");
+        ReflectionTestUtils.setField(filter, "apiPrefixes", new String[] {"/api/assets"});
+        ReflectionTestUtils.setField(filter, "apiPerIp", "");
+        ReflectionTestUtils.setField(filter, "apiPerUser", "");
+        filter.initGroups();
+    }
+
+    @Test
+    void trackedAddressGetsItsOwnBucket() throws Exception {
+        assertThat(login("10.0.0.1")).isEqualTo(200);
+        assertThat(login("10.0.0.1")).isEqualTo(200);
+        assertThat(login("10.0.0.1")).isEqualTo(429);
+    }
+
+    @Test
+    void overflowAddressesOnlyShareABucketWithinTheirStripe() throws Exception {
+        login("10.0.0.1");
+        String flooder = "10.0.1.1";
+        String sameStripe = addressInStripe(stripe(flooder), flooder);
+        String otherStripe = addressInOtherStripe(stripe(flooder));
+
+        assertThat(login(flooder)).isEqualTo(200);
+        assertThat(login(flooder)).isEqualTo(200);
+        assertThat(login(flooder)).isEqualTo(429);
+
+        assertThat(login(sameStripe)).isEqualTo(429);
+        assertThat(login(otherStripe)).isEqualTo(200);
+    }
+
+    @Test
+    void rejectionCarriesRetryAfter() throws Exception {
+        login("10.0.0.1");
+        login("10.0.0.1");
+        MockHttpServletResponse response = send("10.0.0.1", "/api/auth/login");
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        // One token every 30 seconds
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+    }
+
+    @Test
+    void unmatchedRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("10.0.0.1", "/api/categories").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private int login(String address) throws Exception {
+        return send(address, "/api/auth/login").getStatus();
+    }
+
+    private MockHttpServletResponse send(String address, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static long stripe(String address) {
+        return RateLimitFilter.hash(address) & 1023;
+    }
+
+    private static String addressInStripe(long stripe, String except) {
+        for (int i = 0; i < 1 << 24; i++) {
+            String address = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+            if (!address.equals(except) && !address.equals("10.0.0.1") && stripe(address) == stripe) {
+                return address;
+            }
+        }
+        throw new IllegalStateException("No address in stripe " + stripe);
+    }
+
+    private static String addressInOtherStripe(long stripe) {
+        for (int i = 2; i < 256; i++) {
+            String address = "10.0.2." + i;
+            if (stripe(address) != stripe) {
+                return address;
+            }
+        }
+        throw new IllegalStateException("Every address shares stripe " + stripe);
+    }
+}
@@ -0,0 +1,148 @@
+package com.assetmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketLimiterTest {
+
+    // 10 tokens per second: one every 100 ms
+    private static final TokenBucketLimiter.Limit LIMIT = new TokenBucketLimiter.Limit(10, Duration.ofSeconds(1));
+    private static final long INTERVAL = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void fullBucketAllowsExactlyCapacityAtOnce() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        long now = 1_000_000_000L;
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1, now)).as("request %d", i).isZero();
+        }
+        assertThat(limiter.tryAcquire(1, now)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void refusedRequestsConsumeNothing() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        long now = 0;
+        drain(limiter, 1, now);
+
+        assertThat(limiter.tryAcquire(1, now)).isEqualTo(INTERVAL);
+        assertThat(limiter.tryAcquire(1, now)).isEqualTo(INTERVAL);
+        assertThat(limiter.tryAcquire(1, now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+        assertThat(limiter.tryAcquire(1, now + INTERVAL)).isZero();
+    }
+
+    @Test
+    void tokensRefillOneIntervalAtATime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        long now = 0;
+        drain(limiter, 1, now);
+
+        assertThat(limiter.tryAcquire(1, now + INTERVAL - 1)).isEqualTo(1);
+        assertThat(limiter.tryAcquire(1, now + INTERVAL)).isZero();
+        assertThat(limiter.tryAcquire(1, now + INTERVAL)).isEqualTo(INTERVAL);
+
+        // Three intervals later, three tokens and no more
+        long later = now + 4 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1, later)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1, later)).isPositive();
+    }
+
+    @Test
+    void idleTimeNeverBuysMoreThanCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        limiter.tryAcquire(1, 0);
+
+        long muchLater = Duration.ofHours(1).toNanos();
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1, muchLater)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1, muchLater)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void arithmeticSurvivesNanoTimeWrapAround() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        long beforeWrap = Long.MAX_VALUE - INTERVAL / 2;
+        drain(limiter, 1, beforeWrap);
+
+        // One interval later System.nanoTime() has wrapped to a negative value
+        long afterWrap = beforeWrap + INTERVAL;
+        assertThat(afterWrap).isNegative();
+        assertThat(limiter.tryAcquire(1, afterWrap)).isZero();
+        assertThat(limiter.tryAcquire(1, afterWrap)).isEqualTo(INTERVAL);
+        assertThat(limiter.evictIdle(afterWrap)).isZero();
+        assertThat(limiter.evictIdle(afterWrap + LIMIT.period().toNanos())).isEqualTo(1);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        drain(limiter, 1, 0);
+
+        assertThat(limiter.tryAcquire(1, 0)).isPositive();
+        assertThat(limiter.tryAcquire(2, 0)).isZero();
+    }
+
+    @Test
+    void newKeysAreUntrackedWhileFullUntilIdleBucketsAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 2);
+        limiter.tryAcquire(1, 0);
+        limiter.tryAcquire(2, 0);
+
+        assertThat(limiter.tryAcquire(3, 0)).isEqualTo(TokenBucketLimiter.UNTRACKED);
+        assertThat(limiter.tryAcquire(1, 0)).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // Not yet full again: nothing can be evicted without losing state
+        assertThat(limiter.evictIdle(INTERVAL - 1)).isZero();
+        assertThat(limiter.evictIdle(2 * INTERVAL)).isEqualTo(2);
+        assertThat(limiter.tryAcquire(3, 2 * INTERVAL)).isZero();
+    }
+
+    @Test
+    void evictedBucketBehavesLikeANewOne() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(LIMIT, 100);
+        drain(limiter, 1, 0);
+
+        long refilled = LIMIT.period().toNanos();
+        assertThat(limiter.evictIdle(refilled)).isEqualTo(1);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1, refilled)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1, refilled)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void periodShorterThanCapacityNanosStillAllowsCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(new TokenBucketLimiter.Limit(10, Duration.ofNanos(5)), 100);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1, 0)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void limitParsing() {
+        assertThat(TokenBucketLimiter.Limit.parse("20/PT1M"))
+                .isEqualTo(new TokenBucketLimiter.Limit(20, Duration.ofMinutes(1)));
+        assertThat(TokenBucketLimiter.Limit.parse(" 5 / PT10S ")).isEqualTo(new TokenBucketLimiter.Limit(5, Duration.ofSeconds(10)));
+        assertThat(TokenBucketLimiter.Limit.parse("")).isNull();
+        assertThat(TokenBucketLimiter.Limit.parse(null)).isNull();
+        assertThatThrownBy(() -> TokenBucketLimiter.Limit.parse("20")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenBucketLimiter.Limit.parse("0/PT1M")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenBucketLimiter.Limit.parse("5/PT0S")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void drain(TokenBucketLimiter limiter, long key, long now) {
+        while (limiter.tryAcquire(key, now) == 0) {
+            // take every token available at this instant
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerifiedPrincipalCacheTest {
+
+    private static final Date NEVER = new Date(System.currentTimeMillis() + Duration.ofDays(1).toMillis());
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private VerifiedPrincipalCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = cache(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void cachedPrincipalIsReturnedForTheSameToken() {
+        UserDetailsImpl principal = principal(1L);
+        cache.put("token-a", principal, NEVER);
+
+        assertThat(cache.get("token-a")).isSameAs(principal);
+        assertThat(cache.get("token-b")).isNull();
+    }
+
+    @Test
+    void entryLivesNoLongerThanTheTtlOrTheToken() throws InterruptedException {
+        VerifiedPrincipalCache shortLived = cache(Duration.ofMillis(50));
+        shortLived.put("ttl", principal(1L), NEVER);
+        cache.put("expired", principal(1L), new Date(System.currentTimeMillis() - 1000));
+
+        Thread.sleep(100);
+
+        assertThat(shortLived.get("ttl")).isNull();
+        assertThat(cache.get("expired")).isNull();
+    }
+
+    @Test
+    void invalidatingAUserDropsOnlyTheirPrincipals() {
+        cache.put("first", principal(1L), NEVER);
+        cache.put("second", principal(1L), NEVER);
+        cache.put("other", principal(2L), NEVER);
+
+        cache.invalidateUser(1L);
+
+        assertThat(cache.get("first")).isNull();
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("other")).isNotNull();
+    }
+
+    @Test
+    void tokenIssuedBeforeTheCutoffIsRevoked() {
+        Instant cutoff = Instant.parse("2024-01-15T10:30:05Z");
+        tokensValidAfter(1L, cutoff);
+
+        assertThat(cache.isRevoked(1L, Date.from(cutoff.minusSeconds(1)))).isTrue();
+        assertThat(cache.isRevoked(1L, null)).isTrue();
+        // iat has second precision, so a token issued in the second of the change stays valid
+        assertThat(cache.isRevoked(1L, Date.from(cutoff))).isFalse();
+        assertThat(cache.isRevoked(1L, Date.from(cutoff.plusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    void userWithoutCutoffKeepsTokensAndDeletedUserLosesThem() {
+        tokensValidAfter(1L, null);
+        when(userRepository.findTokenEpoch(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.isRevoked(1L, new Date())).isFalse();
+        assertThat(cache.isRevoked(2L, new Date())).isTrue();
+    }
+
+    private void tokensValidAfter(Long userId, Instant cutoff) {
+        UserRepository.TokenEpoch epoch = mock(UserRepository.TokenEpoch.class);
+        when(epoch.getTokensValidAfter()).thenReturn(cutoff);
+        when(userRepository.findTokenEpoch(userId)).thenReturn(Optional.of(epoch));
+    }
+
+    private VerifiedPrincipalCache cache(Duration ttl) {
+        VerifiedPrincipalCache created = new VerifiedPrincipalCache();
+        ReflectionTestUtils.setField(created, "userRepository", userRepository);
+        ReflectionTestUtils.setField(created, "maxSize", 100);
+        ReflectionTestUtils.setField(created, "ttl", ttl);
+        created.init();
+        return created;
+    }
+
+    private static UserDetailsImpl principal(Long id) {
+        return new UserDetailsImpl(id, "user" + id, "user" + id + "@example.com", null);
+    }
+}
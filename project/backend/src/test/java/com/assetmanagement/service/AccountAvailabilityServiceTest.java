@@ -0,0 +1,76 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.User;
+import com.assetmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountAvailabilityServiceTest {
+
+    @Autowired
+    private AccountAvailabilityService availabilityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void buildFilter() {
+        availabilityService.refresh();
+    }
+
+    @Test
+    void userCreatedElsewhereIsTakenAfterTheNextRefresh() {
+        // Saved directly, as a registration on another instance would be; this instance is not told
+        User user = save();
+
+        availabilityService.refresh();
+
+        double confirmed = checks("taken");
+        assertThat(availabilityService.isUsernameAvailable(user.getUsername())).isFalse();
+        assertThat(availabilityService.isEmailAvailable(user.getEmail())).isFalse();
+        // The filter passed both to the exists query rather than answering from the database alone
+        assertThat(checks("taken")).isEqualTo(confirmed + 2);
+    }
+
+    @Test
+    void registrationOnThisInstanceIsTakenAtOnce() {
+        User user = save();
+        availabilityService.registered(user);
+
+        assertThat(availabilityService.isUsernameAvailable(user.getUsername())).isFalse();
+        assertThat(availabilityService.isEmailAvailable(user.getEmail())).isFalse();
+    }
+
+    @Test
+    void freeNamesAreAnsweredByTheFilter() {
+        String name = "free" + UUID.randomUUID().toString().substring(0, 12);
+        double misses = checks("filter_miss");
+
+        assertThat(availabilityService.isUsernameAvailable(name)).isTrue();
+        assertThat(availabilityService.isEmailAvailable(name + "@example.com")).isTrue();
+        // A false positive goes to the database instead, so allow for one at the configured rate
+        assertThat(checks("filter_miss")).isGreaterThanOrEqualTo(misses + 1);
+    }
+
+    private User save() {
+        String name = "a" + UUID.randomUUID().toString().substring(0, 12);
+        return userRepository.save(new User(name, "password-hash", name + "@example.com"));
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("auth.availability.checks").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.entity.AssetChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AssetCollectionVersionsTest {
+
+    @Autowired
+    private AssetCollectionVersions collectionVersions;
+
+    @Autowired
+    private AssetOutbox outbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void localWriteChangesTheTagOnlyOnCommit() {
+        Long userId = randomUserId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String before = collectionVersions.etag(userId, "page", 0);
+
+        transaction.executeWithoutResult(status -> {
+            collectionVersions.bumpAfterCommit(userId);
+            status.setRollbackOnly();
+        });
+        assertThat(collectionVersions.etag(userId, "page", 0)).isEqualTo(before);
+
+        transaction.executeWithoutResult(status -> {
+            collectionVersions.bumpAfterCommit(userId);
+            // Readers inside the window before commit still get the old tag
+            assertThat(collectionVersions.etag(userId, "page", 0)).isEqualTo(before);
+        });
+        assertThat(collectionVersions.etag(userId, "page", 0)).isNotEqualTo(before);
+    }
+
+    @Test
+    void tagDependsOnTheRequest() {
+        Long userId = randomUserId();
+        assertThat(collectionVersions.etag(userId, "page", 0))
+                .isEqualTo(collectionVersions.etag(userId, "page", 0))
+                .isNotEqualTo(collectionVersions.etag(userId, "page", 1))
+                .isNotEqualTo(collectionVersions.etag(randomUserId(), "page", 0));
+    }
+
+    @Test
+    void changeFromAnotherInstanceArrivesThroughTheOutbox() throws InterruptedException {
+        Long userId = randomUserId();
+        long before = collectionVersions.current(userId);
+
+        // Only an outbox event, as written by a writer on another instance; nothing bumps locally
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outbox.record(AssetChangeEvent.Type.UPDATED, userId, 1L, "Remote asset", null, null));
+        assertThat(collectionVersions.current(userId)).isEqualTo(before);
+
+        // The scheduled drainer and sync pick it up; both poll every second in tests
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (collectionVersions.current(userId) == before && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(collectionVersions.current(userId)).isGreaterThan(before);
+    }
+
+    private static Long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE / 2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.assetmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetCursorTest {
+
+    @Test
+    void cursorRoundTripsThePosition() {
+        LocalDateTime micros = LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_456_000);
+        LocalDateTime wholeMinute = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        assertThat(AssetService.decodeCursor(AssetService.encodeCursor(micros, 42L)))
+                .isEqualTo(new AssetService.KeysetPosition(micros, 42L));
+        assertThat(AssetService.decodeCursor(AssetService.encodeCursor(wholeMinute, Long.MAX_VALUE)))
+                .isEqualTo(new AssetService.KeysetPosition(wholeMinute, Long.MAX_VALUE));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = AssetService.encodeCursor(LocalDateTime.of(2024, 1, 15, 10, 30, 5, 999_999_000), 1234567L);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertInvalid("not base64!");
+        assertInvalid(encode("garbage"));
+        assertInvalid(encode("2024-01-15T10:30|"));
+        assertInvalid(encode("2024-01-15T10:30|abc"));
+        assertInvalid(encode("|42"));
+        assertInvalid(encode("2024-13-45T10:30|42"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> AssetService.decodeCursor(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.BulkImportResponse;
+import com.assetmanagement.dto.BulkImportResponse.RowError;
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.entity.User;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.assetmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AssetImportServiceTest {
+
+    private static final int MAX_LINE_LENGTH = 65536;
+
+    @Autowired
+    private AssetImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssetStatusRepository statusRepository;
+
+    private Long userId;
+    private Long categoryId;
+    private Long statusId;
+
+    @BeforeEach
+    void createUser() {
+        String name = "i" + UUID.randomUUID().toString().substring(0, 12);
+        userId = userRepository.save(new User(name, "password-hash", name + "@example.com")).getId();
+        categoryId = categoryRepository.findAll(Sort.by("id")).stream().map(AssetCategory::getId).findFirst().orElseThrow();
+        statusId = statusRepository.findAll(Sort.by("id")).stream().map(AssetStatus::getId).findFirst().orElseThrow();
+    }
+
+    @Test
+    void oversizedRowIsReportedAndTheRestImported() throws Exception {
+        String body = row("First") + "\n"
+                + row("x".repeat(MAX_LINE_LENGTH)) + "\n"
+                + row("Third") + "\n";
+
+        BulkImportResponse result = importService.importAssets(userId, new StringReader(body),
+                AssetImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(RowError::getLine, RowError::getMessage)
+                .containsExactly(tuple(2L, "Row is longer than " + MAX_LINE_LENGTH + " characters"));
+    }
+
+    @Test
+    void oversizedLastRowWithoutLineBreakIsReported() throws Exception {
+        String body = row("First") + "\r\n" + "{".repeat(MAX_LINE_LENGTH * 2);
+
+        BulkImportResponse result = importService.importAssets(userId, new StringReader(body),
+                AssetImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(RowError::getLine).containsExactly(2L);
+    }
+
+    @Test
+    void carriageReturnLineBreaksKeepLineNumbers() throws Exception {
+        String body = "assetName,categoryId,statusId,purchaseDate\r\n"
+                + "Desk," + categoryId + "," + statusId + ",2024-01-15\r\n"
+                + "Chair," + categoryId + "," + statusId + ",not-a-date\r\n"
+                + "\r\n"
+                + "Lamp," + categoryId + "," + statusId + ",2024-01-15";
+
+        BulkImportResponse result = importService.importAssets(userId, new StringReader(body),
+                AssetImportService.Format.CSV);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(RowError::getLine, RowError::getMessage)
+                .containsExactly(tuple(3L, "Dates must be formatted as yyyy-MM-dd"));
+    }
+
+    @Test
+    void oversizedCsvHeaderRejectsTheUpload() {
+        String body = "assetName," + "c".repeat(MAX_LINE_LENGTH) + "\n";
+
+        assertThatThrownBy(() -> importService.importAssets(userId, new StringReader(body),
+                AssetImportService.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String row(String assetName) {
+        return "{\"assetName\":\"" + assetName + "\",\"categoryId\":" + categoryId
+                + ",\"statusId\":" + statusId + ",\"purchaseDate\":\"2024-01-15\"}";
+    }
+}
@@ -0,0 +1,101 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.AssetRequest;
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetChangeEvent;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.entity.User;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetChangeEventRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.assetmanagement.repository.UserRepository;
+import com.assetmanagement.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AssetOutboxTest {
+
+    @Autowired
+    private AssetOutbox outbox;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetChangeEventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssetStatusRepository statusRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void singleAndBulkEventsGetIdsInTheOrderTheyWereRecorded() {
+        String name = "o" + UUID.randomUUID().toString().substring(0, 12);
+        User user = userRepository.save(new User(name, "password-hash", name + "@example.com"));
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        List<Long> assetIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            assetIds.add(assetService.createAsset(request()).getId());
+        }
+
+        // Read back before commit, so the drainer cannot have removed any of them yet
+        List<AssetChangeEvent> recorded = new TransactionTemplate(transactionManager).execute(status -> {
+            outbox.record(AssetChangeEvent.Type.UPDATED, user.getId(), assetIds.get(0), "first", null, null);
+            outbox.recordForAssets(AssetChangeEvent.Type.UPDATED, user.getId(), assetIds);
+            outbox.record(AssetChangeEvent.Type.UPDATED, user.getId(), assetIds.get(0), "last", null, null);
+            List<AssetChangeEvent> events = eventRepository.findAll().stream()
+                    .filter(e -> e.getUserId().equals(user.getId()) && e.getType() == AssetChangeEvent.Type.UPDATED)
+                    .sorted(Comparator.comparing(AssetChangeEvent::getId))
+                    .toList();
+            status.setRollbackOnly();
+            return events;
+        });
+
+        assertThat(recorded).hasSize(5);
+        assertThat(recorded.get(0).getAssetName()).isEqualTo("first");
+        assertThat(recorded.subList(1, 4)).extracting(AssetChangeEvent::getAssetName).containsOnly("Outbox asset");
+        assertThat(recorded.get(4).getAssetName()).isEqualTo("last");
+    }
+
+    private AssetRequest request() {
+        AssetRequest request = new AssetRequest();
+        request.setAssetName("Outbox asset");
+        request.setCategoryId(categoryRepository.findAll(Sort.by("id")).stream().map(AssetCategory::getId).findFirst().orElseThrow());
+        request.setStatusId(statusRepository.findAll(Sort.by("id")).stream().map(AssetStatus::getId).findFirst().orElseThrow());
+        request.setPurchaseDate(LocalDate.of(2024, 1, 15));
+        return request;
+    }
+}
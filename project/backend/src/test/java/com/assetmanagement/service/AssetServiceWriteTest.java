@@ -0,0 +1,205 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.AssetRequest;
+import com.assetmanagement.dto.AssetResponse;
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.entity.AssetCounter;
+import com.assetmanagement.entity.AssetCounter.Dimension;
+import com.assetmanagement.entity.AssetStatus;
+import com.assetmanagement.entity.User;
+import com.assetmanagement.exception.AssetNotFoundException;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetCounterRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.assetmanagement.repository.UserRepository;
+import com.assetmanagement.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the native write statements (UPDATE ... RETURNING, DELETE ... RETURNING and the counter
+ * upsert) against PostgreSQL, and checks the counters they maintain.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AssetServiceWriteTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssetCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssetStatusRepository statusRepository;
+
+    @Autowired
+    private AssetCounterRepository counterRepository;
+
+    private List<Long> categoryIds;
+    private List<Long> statusIds;
+
+    @BeforeEach
+    void loadMasterData() {
+        categoryIds = categoryRepository.findAll(Sort.by("id")).stream().map(AssetCategory::getId).toList();
+        statusIds = statusRepository.findAll(Sort.by("id")).stream().map(AssetStatus::getId).toList();
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void updateAndDeleteMoveCountersFromThePreviousClassification() {
+        User user = createUser();
+        signIn(user);
+
+        AssetResponse created = assetService.createAsset(request(categoryIds.get(0), statusIds.get(0)));
+        assertThat(counters(user)).containsEntry(key(Dimension.CATEGORY, categoryIds.get(0)), 1L)
+                .containsEntry(key(Dimension.STATUS, statusIds.get(0)), 1L);
+
+        assetService.updateAsset(created.getId(), request(categoryIds.get(1), statusIds.get(1)));
+        assertThat(counters(user))
+                .containsEntry(key(Dimension.CATEGORY, categoryIds.get(0)), 0L)
+                .containsEntry(key(Dimension.CATEGORY, categoryIds.get(1)), 1L)
+                .containsEntry(key(Dimension.STATUS, statusIds.get(0)), 0L)
+                .containsEntry(key(Dimension.STATUS, statusIds.get(1)), 1L);
+
+        assetService.deleteAsset(created.getId());
+        assertThat(counters(user)).allSatisfy((k, count) -> assertThat(count).isZero());
+    }
+
+    @Test
+    void anotherUsersAssetIsNotFoundAndKeepsItsCounters() {
+        User owner = createUser();
+        signIn(owner);
+        Long id = assetService.createAsset(request(categoryIds.get(0), statusIds.get(0))).getId();
+        Map<String, Long> ownerCounters = counters(owner);
+
+        User other = createUser();
+        signIn(other);
+        assertThatThrownBy(() -> assetService.updateAsset(id, request(categoryIds.get(1), statusIds.get(1))))
+                .isInstanceOf(AssetNotFoundException.class);
+        assertThatThrownBy(() -> assetService.deleteAsset(id))
+                .isInstanceOf(AssetNotFoundException.class);
+        assertThatThrownBy(() -> assetService.deleteAsset(Long.MAX_VALUE))
+                .isInstanceOf(AssetNotFoundException.class);
+
+        assertThat(counters(owner)).isEqualTo(ownerCounters);
+        assertThat(counters(other)).isEmpty();
+    }
+
+    @Test
+    void concurrentFirstWritersAllLandInOneCounterRow() throws Exception {
+        User user = createUser();
+        int writers = 8;
+
+        runConcurrently(user, writers, i -> () ->
+                assetService.createAsset(request(categoryIds.get(0), statusIds.get(0))));
+
+        assertThat(counters(user)).containsEntry(key(Dimension.CATEGORY, categoryIds.get(0)), (long) writers)
+                .containsEntry(key(Dimension.STATUS, statusIds.get(0)), (long) writers);
+    }
+
+    @Test
+    void concurrentUpdatesOfOneAssetKeepCountersConsistent() throws Exception {
+        User user = createUser();
+        signIn(user);
+        Long id = assetService.createAsset(request(categoryIds.get(0), statusIds.get(0))).getId();
+
+        runConcurrently(user, 12, i -> () ->
+                assetService.updateAsset(id, request(categoryIds.get(i % 3), statusIds.get(i % 2))));
+
+        // Each update read the classification its predecessor wrote, so exactly one bucket holds the asset
+        signIn(user);
+        AssetResponse current = assetService.getAsset(id);
+        Map<String, Long> counters = counters(user);
+        assertThat(counters).containsEntry(key(Dimension.CATEGORY, current.getCategory().getId()), 1L)
+                .containsEntry(key(Dimension.STATUS, current.getStatus().getId()), 1L);
+        assertThat(counters.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(2);
+    }
+
+    private void runConcurrently(User user, int tasks, TaskFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                Callable<?> task = factory.create(i);
+                results.add(executor.submit(() -> {
+                    signIn(user);
+                    try {
+                        return task.call();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (Future<Object> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private User createUser() {
+        String name = "w" + UUID.randomUUID().toString().substring(0, 12);
+        return userRepository.save(new User(name, "password-hash", name + "@example.com"));
+    }
+
+    private static void signIn(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Map<String, Long> counters(User user) {
+        Map<String, Long> counters = new HashMap<>();
+        for (AssetCounter counter : counterRepository.findByIdUserId(user.getId())) {
+            counters.put(key(counter.getId().getDimension(), counter.getId().getRefId()), counter.getAssetCount());
+        }
+        return counters;
+    }
+
+    private static String key(Dimension dimension, Long refId) {
+        return dimension + ":" + refId;
+    }
+
+    private static AssetRequest request(Long categoryId, Long statusId) {
+        AssetRequest request = new AssetRequest();
+        request.setAssetName("Test asset");
+        request.setCategoryId(categoryId);
+        request.setStatusId(statusId);
+        request.setPurchaseDate(LocalDate.of(2024, 1, 15));
+        return request;
+    }
+
+    private interface TaskFactory {
+        Callable<?> create(int index);
+    }
+}
@@ -0,0 +1,79 @@
+package com.assetmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void everyAddedValueIsFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("u:user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("u:user" + i)).as("user%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void addReportsWhetherTheValueWasNew() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertThat(filter.add("e:alice@example.com")).isTrue();
+        assertThat(filter.add("e:alice@example.com")).isFalse();
+        assertThat(filter.add("")).isTrue();
+        assertThat(filter.mightContain("")).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("u:member" + i);
+        }
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("u:stranger" + i))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    filter.add("u:t" + thread + "-" + i);
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).join();
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain("u:t" + t + "-" + i)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void tinyFilterStillHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(0, 0.5);
+        for (int i = 0; i < 100; i++) {
+            filter.add("v" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(filter.mightContain("v" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.config.BinaryEncodingConfig;
+import com.assetmanagement.entity.AssetCategory;
+import com.assetmanagement.repository.AssetCategoryRepository;
+import com.assetmanagement.repository.AssetStatusRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MasterDataServiceTest {
+
+    private final AssetCategoryRepository categoryRepository = mock(AssetCategoryRepository.class);
+    private final AssetStatusRepository statusRepository = mock(AssetStatusRepository.class);
+    private final MasterDataService service = new MasterDataService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(service, "statusRepository", statusRepository);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "binaryEncodings",
+                new BinaryEncodingConfig(Jackson2ObjectMapperBuilder.smile(), Jackson2ObjectMapperBuilder.cbor()));
+        when(statusRepository.findAll(any(Sort.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> name = new AtomicReference<>("Laptops");
+        when(categoryRepository.findAll(any(Sort.class))).thenAnswer(invocation -> {
+            List<AssetCategory> rows = List.of(category(1L, name.get()));
+            if (loading.getCount() > 0) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return rows;
+        });
+
+        CompletableFuture<MasterDataSnapshot> staleLoad = CompletableFuture.supplyAsync(service::getSnapshot);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The rename commits while the first load still holds the old rows
+        name.set("Notebooks");
+        service.invalidate();
+        release.countDown();
+
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS).getCategoryName(1L)).isEqualTo("Laptops");
+        assertThat(service.getSnapshot().getCategoryName(1L)).isEqualTo("Notebooks");
+    }
+
+    @Test
+    void snapshotIsReusedUntilInvalidated() {
+        when(categoryRepository.findAll(any(Sort.class))).thenReturn(List.of(category(1L, "Laptops")));
+
+        MasterDataSnapshot first = service.getSnapshot();
+        assertThat(service.getSnapshot()).isSameAs(first);
+
+        service.invalidate();
+        assertThat(service.getSnapshot()).isNotSameAs(first);
+    }
+
+    private static AssetCategory category(Long id, String name) {
+        AssetCategory category = new AssetCategory(name);
+        category.setId(id);
+        return category;
+    }
+}
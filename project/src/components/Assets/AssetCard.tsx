@@ -1,6 +1,7 @@
-import React from 'react';
+import React, { useState, useEffect } from 'react';
 import { Edit, Trash2, Calendar, Shield, ExternalLink } from 'lucide-react';
 import { Asset } from '../../types';
+import { assetsApi } from '../../services/api';
 
 interface AssetCardProps {
   asset: Asset;
@@ -9,6 +10,33 @@ interface AssetCardProps {
 }
 
 const AssetCard: React.FC<AssetCardProps> = ({ asset, onEdit, onDelete }) => {
+  const [photoUrl, setPhotoUrl] = useState<string | undefined>();
+
+  // The stored photo needs the bearer token, which <img src> cannot send, so it is fetched as a blob
+  useEffect(() => {
+    if (!asset.imageHash) {
+      setPhotoUrl(undefined);
+      return;
+    }
+    let objectUrl: string | undefined;
+    let cancelled = false;
+    assetsApi.getAssetImage(asset.id, asset.imageHash, true)
+      .then(response => {
+        if (!cancelled) {
+          objectUrl = URL.createObjectURL(response.data);
+          setPhotoUrl(objectUrl);
+        }
+      })
+      .catch(err => console.error('Error loading asset photo:', err));
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [asset.id, asset.imageHash]);
+
+  const imageSrc = photoUrl || asset.assetImageUrl;
   const formatDate = (dateString: string) => {
     return new Date(dateString).toLocaleDateString('en-US', {
       year: 'numeric',
@@ -91,10 +119,10 @@ const AssetCard: React.FC<AssetCardProps> = ({ asset, onEdit, onDelete }) => {
           )}
         </div>
 
-        {asset.assetImageUrl && (
+        {imageSrc && (
           <div className="mt-4">
             <img
-              src={asset.assetImageUrl}
+              src={imageSrc}
               alt={asset.assetName}
               className="w-full h-32 object-cover rounded-lg"
               onError={(e) => {
@@ -1,10 +1,26 @@
 import React, { useState, useEffect } from 'react';
 import { Plus, Search, ChevronLeft, ChevronRight, AlertCircle } from 'lucide-react';
-import { Asset, CreateAssetRequest, UpdateAssetRequest, PaginatedResponse } from '../../types';
-import { assetsApi, testApi } from '../../services/api';
+import { Asset, AssetPatch, CreateAssetRequest, UpdateAssetRequest, PaginatedResponse } from '../../types';
+import { assetsApi, subscribeToAssetChanges, testApi } from '../../services/api';
 import AssetCard from './AssetCard';
 import AssetForm from './AssetForm';
 
+const PATCHABLE_FIELDS: (keyof CreateAssetRequest)[] = [
+  'assetName', 'categoryId', 'statusId', 'purchaseDate', 'warrantyExpiryDate', 'assetImageUrl',
+];
+
+// Merge patch of the fields the form changed; a cleared optional field is sent as null
+const changedFields = (original: Asset, edited: CreateAssetRequest): AssetPatch => {
+  const patch: Record<string, unknown> = {};
+  for (const field of PATCHABLE_FIELDS) {
+    const value = edited[field] ?? null;
+    if (value !== (original[field] ?? null)) {
+      patch[field] = value;
+    }
+  }
+  return patch as AssetPatch;
+};
+
 const AssetList: React.FC = () => {
   const [assets, setAssets] = useState<Asset[]>([]);
   const [pagination, setPagination] = useState<PaginatedResponse<Asset> | null>(null);
@@ -12,19 +28,38 @@ const AssetList: React.FC = () => {
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [debouncedSearch, setDebouncedSearch] = useState('');
   const [isFormOpen, setIsFormOpen] = useState(false);
   const [editingAsset, setEditingAsset] = useState<Asset | undefined>();
   const [connectionStatus, setConnectionStatus] = useState<'checking' | 'connected' | 'disconnected'>('checking');
+  const [changeCount, setChangeCount] = useState(0);
 
   useEffect(() => {
     checkConnection();
   }, []);
 
+  // Search runs server-side across the whole collection, so wait for typing to settle
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setDebouncedSearch(searchTerm.trim());
+      setCurrentPage(0);
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
   useEffect(() => {
     if (connectionStatus === 'connected') {
       loadAssets();
     }
-  }, [currentPage, connectionStatus]);
+  }, [currentPage, connectionStatus, debouncedSearch, changeCount]);
+
+  // Changes made in other tabs or devices reload the current page
+  useEffect(() => {
+    if (connectionStatus !== 'connected') {
+      return;
+    }
+    return subscribeToAssetChanges(() => setChangeCount((count) => count + 1));
+  }, [connectionStatus]);
 
   const checkConnection = async () => {
     try {
@@ -44,7 +79,9 @@ const AssetList: React.FC = () => {
     setError('');
     try {
       console.log('Loading assets...');
-      const response = await assetsApi.getAssets(currentPage, 9);
+      const response = debouncedSearch
+        ? await assetsApi.searchAssets(debouncedSearch, currentPage, 9)
+        : await assetsApi.getAssets(currentPage, 9);
       console.log('Assets loaded:', response.data);
       setAssets(response.data.content);
       setPagination(response.data);
@@ -80,13 +117,18 @@ const AssetList: React.FC = () => {
   };
 
   const handleUpdateAsset = async (assetData: UpdateAssetRequest) => {
+    if (!editingAsset) return;
     try {
       console.log('Updating asset:', assetData);
-      await assetsApi.updateAsset(assetData);
+      await assetsApi.patchAsset(assetData.id, changedFields(editingAsset, assetData), editingAsset.version);
       console.log('Asset updated successfully');
       loadAssets();
-    } catch (err) {
+    } catch (err: any) {
       console.error('Error updating asset:', err);
+      if (err.response?.status === 412) {
+        loadAssets();
+        throw new Error('This asset was changed elsewhere. Close the form and open it again to see the latest version.');
+      }
       throw err;
     }
   };
@@ -116,11 +158,6 @@ const AssetList: React.FC = () => {
     setEditingAsset(undefined);
   };
 
-  const filteredAssets = assets.filter(asset =>
-    asset.assetName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-    asset.category?.categoryName.toLowerCase().includes(searchTerm.toLowerCase())
-  );
-
   const handlePageChange = (page: number) => {
     setCurrentPage(page);
   };
@@ -220,7 +257,7 @@ const AssetList: React.FC = () => {
         </div>
       )}
 
-      {filteredAssets.length === 0 ? (
+      {assets.length === 0 ? (
         <div className="text-center py-12">
           <div className="w-16 h-16 bg-gray-100 rounded-full flex items-center justify-center mx-auto mb-4">
             <Plus className="w-8 h-8 text-gray-400" />
@@ -242,7 +279,7 @@ const AssetList: React.FC = () => {
       ) : (
         <>
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-            {filteredAssets.map(asset => (
+            {assets.map(asset => (
               <AssetCard
                 key={asset.id}
                 asset={asset}
@@ -1,12 +1,20 @@
 import axios, { AxiosResponse } from 'axios';
 import { 
   AuthResponse, 
+  Availability,
   LoginRequest, 
   RegisterRequest, 
   Asset, 
+  AssetChange,
+  AssetPatch,
+  BulkChangeResponse,
   AssetCategory, 
   AssetStatus, 
   PaginatedResponse,
+  CursorPage,
+  AssetSummary,
+  ImageUploadResponse,
+  WarrantyNotification,
   CreateAssetRequest,
   UpdateAssetRequest
 } from '../types';
@@ -75,6 +83,10 @@ export const authApi = {
     console.log('Attempting registration for user:', userData.username);
     return api.post('/auth/register', userData);
   },
+  
+  checkAvailability: (params: { username?: string; email?: string }): Promise<AxiosResponse<Availability>> => {
+    return api.get('/auth/availability', { params });
+  },
 };
 
 export const assetsApi = {
@@ -83,6 +95,24 @@ export const assetsApi = {
     return api.get(`/assets?page=${page}&size=${size}`);
   },
   
+  searchAssets: (query: string, page = 0, size = 10): Promise<AxiosResponse<PaginatedResponse<Asset>>> => {
+    console.log(`Searching assets: q=${query}, page=${page}, size=${size}`);
+    return api.get('/assets/search', { params: { q: query, page, size } });
+  },
+  
+  getAssetsByCursor: (cursor = '', size = 10, withCount = false): Promise<AxiosResponse<CursorPage<Asset>>> => {
+    console.log(`Fetching assets: cursor=${cursor || '<start>'}, size=${size}`);
+    return api.get('/assets', { params: { cursor, size, withCount } });
+  },
+  
+  getAssetSummary: (): Promise<AxiosResponse<AssetSummary>> => {
+    return api.get('/assets/summary');
+  },
+  
+  getNotifications: (page = 0, size = 20): Promise<AxiosResponse<PaginatedResponse<WarrantyNotification>>> => {
+    return api.get('/notifications', { params: { page, size } });
+  },
+  
   createAsset: (asset: CreateAssetRequest): Promise<AxiosResponse<Asset>> => {
     console.log('Creating asset:', asset.assetName);
     return api.post('/assets', asset);
@@ -93,10 +123,84 @@ export const assetsApi = {
     return api.put(`/assets/${asset.id}`, asset);
   },
   
+  // Sends only the changed fields; a concurrent edit fails with 412 instead of being overwritten
+  patchAsset: (id: number, changes: AssetPatch, version: number): Promise<AxiosResponse<Asset>> => {
+    console.log('Patching asset:', id);
+    return api.patch(`/assets/${id}`, changes, {
+      headers: { 'Content-Type': 'application/merge-patch+json', 'If-Match': `"${version}"` },
+    });
+  },
+  
   deleteAsset: (id: number): Promise<AxiosResponse<void>> => {
     console.log('Deleting asset:', id);
     return api.delete(`/assets/${id}`);
   },
+  
+  // One request for any number of assets (up to app.bulk-change.max-ids)
+  updateAssetStatuses: (ids: number[], statusId: number): Promise<AxiosResponse<BulkChangeResponse>> => {
+    console.log(`Setting status ${statusId} on ${ids.length} assets`);
+    return api.patch('/assets/status', { ids, statusId });
+  },
+  
+  deleteAssets: (ids: number[]): Promise<AxiosResponse<BulkChangeResponse>> => {
+    console.log(`Deleting ${ids.length} assets`);
+    return api.delete('/assets', { data: { ids } });
+  },
+  
+  // Sent as the raw body; the server streams it to disk rather than parsing multipart
+  uploadAssetImage: (id: number, file: File): Promise<AxiosResponse<ImageUploadResponse>> => {
+    console.log('Uploading image for asset:', id);
+    return api.post(`/assets/${id}/image`, file, { headers: { 'Content-Type': file.type || 'application/octet-stream' } });
+  },
+  
+  // Fetched with the bearer token, so render it through URL.createObjectURL
+  getAssetImage: (id: number, hash: string, thumbnail = false): Promise<AxiosResponse<Blob>> => {
+    return api.get(`/assets/${id}/image`, { params: { v: hash, thumbnail }, responseType: 'blob' });
+  },
+};
+
+// EventSource cannot send the bearer token, so the stream is read through fetch.
+// Reconnects after a dropped or closed stream until the returned function is called.
+export const subscribeToAssetChanges = (onChange: (change: AssetChange) => void): (() => void) => {
+  const controller = new AbortController();
+  const decoder = new TextDecoder();
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const response = await fetch(`${API_BASE_URL}/assets/stream`, {
+          headers: { Accept: 'text/event-stream', Authorization: `Bearer ${localStorage.getItem('token')}` },
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`Stream rejected: ${response.status}`);
+        }
+        const reader = response.body.getReader();
+        let pending = '';
+        for (;;) {
+          const { done, value } = await reader.read();
+          if (done) break;
+          pending += decoder.decode(value, { stream: true });
+          let end;
+          while ((end = pending.indexOf('\n\n')) >= 0) {
+            const frame = pending.slice(0, end);
+            pending = pending.slice(end + 2);
+            const data = frame.split('\n').find((line) => line.startsWith('data: '));
+            if (data) {
+              onChange(JSON.parse(data.slice(6)));
+            }
+          }
+        }
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        console.warn('Asset change stream interrupted:', err);
+      }
+      await new Promise((resolve) => setTimeout(resolve, 5000));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
 };
 
 export const masterDataApi = {
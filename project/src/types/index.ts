@@ -15,8 +15,10 @@ export interface Asset {
   purchaseDate: string;
   warrantyExpiryDate?: string;
   assetImageUrl?: string;
+  imageHash?: string;
   createdAt: string;
   updatedAt: string;
+  version: number;
   category?: AssetCategory;
   status?: AssetStatus;
 }
@@ -47,6 +49,31 @@ export interface AuthResponse {
   user: User;
 }
 
+// Fields not asked about come back as null
+export interface Availability {
+  usernameAvailable: boolean | null;
+  emailAvailable: boolean | null;
+}
+
+export interface ImageUploadResponse {
+  hash: string;
+  contentType: string;
+  size: number;
+  url: string;
+  thumbnailUrl: string;
+}
+
+export interface BulkChangeResponse {
+  affectedIds: number[];
+  notFoundIds: number[];
+}
+
+// Pushed on GET /api/assets/stream after each committed change
+export interface AssetChange {
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  assetIds: number[];
+}
+
 export interface ApiResponse<T> {
   data: T;
   message?: string;
@@ -63,6 +90,38 @@ export interface PaginatedResponse<T> {
   last: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+  size: number;
+  hasNext: boolean;
+  totalElements: number | null;
+}
+
+export interface SummaryBucket {
+  id: number;
+  name: string;
+  count: number;
+}
+
+export interface AssetSummary {
+  totalAssets: number;
+  warrantiesExpiringSoon: number;
+  warrantyWindowDays: number;
+  categories: SummaryBucket[];
+  statuses: SummaryBucket[];
+}
+
+export interface WarrantyNotification {
+  id: number;
+  userId: number;
+  assetId: number;
+  assetName: string;
+  windowDays: number;
+  warrantyExpiryDate: string;
+  createdAt: string;
+}
+
 export interface CreateAssetRequest {
   assetName: string;
   categoryId: number;
@@ -74,4 +133,7 @@ export interface CreateAssetRequest {
 
 export interface UpdateAssetRequest extends CreateAssetRequest {
   id: number;
-}
\ No newline at end of file
+}
+
+// JSON Merge Patch body: absent fields are kept, null clears an optional field
+export type AssetPatch = { [K in keyof CreateAssetRequest]?: CreateAssetRequest[K] | null };
\ No newline at end of file